@@ -1,6 +1,7 @@
 plugins {
     id("java")
     `maven-publish`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "net.kissenpvp"
@@ -26,9 +27,18 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("net.kissenpvp.pulvinar:pulvinar-api:1.21.1-R0.1-SNAPSHOT")
 
     compileOnly("net.kissenpvp.pulvinar:pulvinar-api:1.21.1-R0.1-SNAPSHOT")
     compileOnly("net.kissenpvp:VisualAPI:1.7.3-SNAPSHOT")
+
+    jmhImplementation("net.kissenpvp.pulvinar:pulvinar-api:1.21.1-R0.1-SNAPSHOT")
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
 }
 
 publishing {
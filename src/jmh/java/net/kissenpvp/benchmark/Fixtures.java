@@ -0,0 +1,48 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.LocationNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible data sets for the benchmarks.
+ *
+ * <p>Names are made of a small set of prefixes followed by a number, so prefix queries match a realistic
+ * fraction of the entries, similar to player created warps like {@code shop_12} or {@code arena3}.</p>
+ */
+final class Fixtures {
+
+    private static final String[] PREFIXES = {"spawn", "shop", "arena", "farm", "base", "mine", "portal", "event"};
+
+    private Fixtures() {}
+
+    static @NotNull List<LocationNode> locations(int size) {
+        Random random = new Random(size);
+        List<LocationNode> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = PREFIXES[random.nextInt(PREFIXES.length)] + "_" + i;
+            nodes.add(new LocationNode(name, "world", random.nextInt(20_000) - 10_000, 64 + random.nextInt(64), random.nextInt(20_000) - 10_000));
+        }
+        return nodes;
+    }
+
+    static @NotNull String randomName(@NotNull List<LocationNode> nodes, @NotNull Random random) {
+        return nodes.get(random.nextInt(nodes.size())).name();
+    }
+
+    /**
+     * Picks the specified amount of random names from the locations, so a benchmark can cycle through them
+     * instead of drawing a name per invocation.
+     */
+    static @NotNull String[] queries(@NotNull List<LocationNode> nodes, int count) {
+        Random random = new Random(42);
+        String[] queries = new String[count];
+        for (int i = 0; i < count; i++) {
+            queries[i] = randomName(nodes, random);
+        }
+        return queries;
+    }
+}
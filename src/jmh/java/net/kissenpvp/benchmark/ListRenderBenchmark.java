@@ -0,0 +1,65 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.ListRenderer;
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
+import net.kissenpvp.core.api.database.meta.list.MetaList;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a page of list entries, as {@code Warp#generateComponent} does for each list request, with
+ * rendering from the sorted view of a {@link LocationRegistry} and answering the page from its render cache.
+ *
+ * <p>The pages are rendered by {@link ListRenderer}, the renderer used by the plugin. The themed header and
+ * footer of the core {@code PageBuilder} are replaced by the {@link StubPageBuilder}, and the teleport buttons use a
+ * fixed color instead of the theme of the visual API.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListRenderBenchmark {
+
+    private static final Component TITLE = Component.text("Warps");
+    private static final String LABEL = "warp";
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    private MetaList<LocationNode> storage;
+    private LocationRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        storage = Stubs.metaList(Fixtures.locations(size));
+        registry = new LocationRegistry(storage, 64);
+        cached();
+    }
+
+    @Benchmark
+    public Component renderStorage() {
+        return ListRenderer.renderPage(TITLE, LABEL, new StubPageBuilder(new ArrayList<>(storage)), 1, NamedTextColor.GOLD);
+    }
+
+    @Benchmark
+    public Component renderSorted() {
+        return ListRenderer.renderPage(TITLE, LABEL, new StubPageBuilder(registry.sorted()), 1, NamedTextColor.GOLD);
+    }
+
+    @Benchmark
+    public Component cached() {
+        return registry.getPage(LABEL, 1, this::renderSorted);
+    }
+}
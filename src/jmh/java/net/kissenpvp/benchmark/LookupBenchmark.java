@@ -0,0 +1,82 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
+import net.kissenpvp.core.api.database.meta.list.MetaList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up a location by name through a linear scan of the {@code MetaList}, as
+ * {@code Warp#searchLocation} did, with {@link LocationRegistry#get(String)} and
+ * {@link LocationRegistry#contains(String)}.
+ *
+ * <p>The registry runs on an in-memory {@code MetaList} from {@link Stubs}. The queried names are drawn once per
+ * trial and cycled through, so the measurement does not include choosing a name.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LookupBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    private MetaList<LocationNode> storage;
+    private LocationRegistry registry;
+    private String[] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<LocationNode> nodes = Fixtures.locations(size);
+        storage = Stubs.metaList(nodes);
+        registry = new LocationRegistry(storage, 64);
+        queries = Fixtures.queries(nodes, QUERIES);
+    }
+
+    private String nextQuery() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return queries[cursor];
+    }
+
+    @Benchmark
+    public LocationNode linearScan() {
+        String name = nextQuery();
+        for (LocationNode location : storage) {
+            if (Objects.equals(name, location.name())) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public LocationNode indexedLookup() {
+        return registry.get(nextQuery());
+    }
+
+    @Benchmark
+    public boolean linearExists() {
+        String name = nextQuery();
+        return storage.stream().anyMatch(node -> node.name().equals(name));
+    }
+
+    @Benchmark
+    public boolean indexedExists() {
+        return registry.contains(nextQuery());
+    }
+}
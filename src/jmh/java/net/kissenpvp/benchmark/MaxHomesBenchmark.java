@@ -0,0 +1,88 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.HomeLimits;
+import net.kissenpvp.pulvinar.api.permission.Permission;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving the home limit from the permissions of a player with the former stream, parse and sort
+ * approach of {@code SetHome}, with a fresh computation of {@link HomeLimits} and with its cached limit.
+ *
+ * <p>The player and its permissions are stubs from {@link Stubs}. A few of the permissions are home limits, the
+ * others are unrelated, and some home limits are malformed to exercise the validation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MaxHomesBenchmark {
+
+    private static final String PERMISSION_PREFIX = HomeLimits.PERMISSION_PREFIX;
+    private static final int DEFAULT_LIMIT = 3;
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    private Player player;
+    private HomeLimits limits;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(size);
+        Set<Permission> permissions = new LinkedHashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            permissions.add(Stubs.permission(switch (random.nextInt(20)) {
+                case 0 -> PERMISSION_PREFIX + random.nextInt(100);
+                case 1 -> PERMISSION_PREFIX + "unlimited";
+                default -> "kissen.command.node" + i;
+            }));
+        }
+        player = Stubs.player(new UUID(0, size), permissions);
+        limits = new HomeLimits(DEFAULT_LIMIT, TimeUnit.HOURS.toMillis(1));
+        limits.get(player);
+    }
+
+    @Benchmark
+    public int streamSortScan() {
+        List<Integer> numbers = player.getPermissionList().stream().filter(permission -> {
+            if (!permission.getName().startsWith(PERMISSION_PREFIX) || !permission.isValid()) {
+                return false;
+            }
+
+            try {
+                Integer.parseInt(permission.getName().substring(PERMISSION_PREFIX.length()));
+                return true;
+            } catch (NumberFormatException ignored) {
+            }
+            return false;
+        }).map(permission -> Integer.parseInt(permission.getName().substring(PERMISSION_PREFIX.length()))).sorted().toList();
+
+        return numbers.isEmpty() ? DEFAULT_LIMIT : numbers.getLast();
+    }
+
+    @Benchmark
+    public int computed() {
+        limits.invalidate(player);
+        return limits.get(player);
+    }
+
+    @Benchmark
+    public int cached() {
+        return limits.get(player);
+    }
+}
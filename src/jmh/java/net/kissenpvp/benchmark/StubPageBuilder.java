@@ -0,0 +1,34 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.core.api.util.PageBuilder;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A {@link PageBuilder} with a fixed header and footer.
+ *
+ * <p>The header and footer of the core {@link PageBuilder} are themed by the running server. The stub replaces
+ * them with constant components, while the paging of the entries is left to the core implementation.</p>
+ */
+final class StubPageBuilder extends PageBuilder<LocationNode> {
+
+    private static final Component HEADER = Component.text("Header");
+    private static final Component FOOTER = Component.text("Footer");
+
+    StubPageBuilder(@NotNull List<LocationNode> entries) {
+        super(entries);
+    }
+
+    @Override
+    public @NotNull Component getHeader(@NotNull Component title, int page) {
+        return HEADER;
+    }
+
+    @Override
+    public @NotNull Component getFooter(@NotNull Component title, int page) {
+        return FOOTER;
+    }
+}
@@ -0,0 +1,106 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.core.api.database.meta.list.MetaList;
+import net.kissenpvp.pulvinar.api.permission.Permission;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates in-memory stand-ins for the server and database types the plugin code works with.
+ *
+ * <p>{@link MetaList}, {@link Player} and {@link Permission} are interfaces implemented by the server and the
+ * database layer. The stubs are dynamic proxies, so they implement exactly the interfaces of the API on the
+ * classpath: list operations are answered by an {@link ArrayList}, {@code replaceOrInsert} replaces the element
+ * with the same name, and every other method returns a neutral value.</p>
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    /**
+     * Creates a {@link MetaList} holding a copy of the specified locations in memory.
+     */
+    @SuppressWarnings("unchecked")
+    static @NotNull MetaList<LocationNode> metaList(@NotNull List<LocationNode> nodes) {
+        List<LocationNode> backing = new ArrayList<>(nodes);
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("replaceOrInsert") && args != null && args.length == 1) {
+                LocationNode node = (LocationNode) args[0];
+                backing.removeIf(existing -> existing.name().equals(node.name()));
+                backing.add(node);
+                return neutral(method.getReturnType(), true);
+            }
+            return delegate(backing, method, args);
+        };
+        return (MetaList<LocationNode>) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{MetaList.class}, handler);
+    }
+
+    /**
+     * Creates a {@link Player} with the specified unique id and permissions.
+     */
+    static @NotNull Player player(@NotNull UUID uuid, @NotNull Set<Permission> permissions) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "getPermissionList" -> permissions;
+            case "hashCode" -> uuid.hashCode();
+            case "equals" -> proxy == args[0];
+            default -> neutral(method.getReturnType(), false);
+        };
+        return (Player) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{Player.class}, handler);
+    }
+
+    /**
+     * Creates a valid {@link Permission} with the specified name.
+     */
+    static @NotNull Permission permission(@NotNull String name) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "isValid" -> true;
+            case "hashCode" -> name.hashCode();
+            case "equals" -> proxy == args[0];
+            default -> neutral(method.getReturnType(), false);
+        };
+        return (Permission) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{Permission.class}, handler);
+    }
+
+    private static Object delegate(@NotNull Object target, @NotNull Method method, Object[] args) throws Throwable {
+        try {
+            Method implementation = target.getClass().getMethod(method.getName(), method.getParameterTypes());
+            return implementation.invoke(target, args);
+        } catch (NoSuchMethodException exception) {
+            return neutral(method.getReturnType(), false);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static Object neutral(@NotNull Class<?> type, boolean success) {
+        if (type == boolean.class) {
+            return success;
+        }
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            return type == long.class ? 0L : type == int.class ? 0 : type == short.class ? (short) 0 : (byte) 0;
+        }
+        if (type == float.class || type == double.class) {
+            return type == float.class ? 0f : 0d;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type.isAssignableFrom(CompletableFuture.class)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return null;
+    }
+}
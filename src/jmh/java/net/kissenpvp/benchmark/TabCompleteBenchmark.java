@@ -0,0 +1,75 @@
+package net.kissenpvp.benchmark;
+
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
+import net.kissenpvp.NameIndex;
+import net.kissenpvp.core.api.database.meta.list.MetaList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the tab completers collecting a fresh name set from the {@code MetaList} per request with the
+ * {@link NameIndex} of a {@link LocationRegistry}, including prefix queries and the cost of updating the index on
+ * a mutation.
+ *
+ * <p>The registry runs on an in-memory {@code MetaList} from {@link Stubs}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TabCompleteBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    private MetaList<LocationNode> storage;
+    private LocationRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        storage = Stubs.metaList(Fixtures.locations(size));
+        registry = new LocationRegistry(storage, 64);
+    }
+
+    @Benchmark
+    public Set<String> collectNames() {
+        return storage.stream().map(LocationNode::name).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Benchmark
+    public Set<String> snapshot() {
+        return registry.getNames();
+    }
+
+    @Benchmark
+    public List<String> collectPrefix() {
+        return storage.stream().map(LocationNode::name).filter(name -> name.startsWith("shop_1")).toList();
+    }
+
+    @Benchmark
+    public List<String> snapshotPrefix() {
+        return registry.getNames().startingWith("shop_1");
+    }
+
+    @Benchmark
+    public List<String> snapshotPrefixIgnoreCase() {
+        return registry.getNames().startingWithIgnoreCase("SHOP_1");
+    }
+
+    @Benchmark
+    public NameIndex snapshotUpdate() {
+        return registry.getNames().with("newly_created").without("newly_created");
+    }
+}
@@ -0,0 +1,140 @@
+package net.kissenpvp;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The AsyncTabCompleter class, answering the name completions of the warp and home commands off the main thread.
+ *
+ * <p>Paper fires {@link AsyncTabCompleteEvent} on the network thread for every completion request. The
+ * {@code AsyncTabCompleter} parses the command line of the event and, for the first argument of the warp and
+ * home commands, answers with the names starting with the typed prefix in any case. The names are read from the immutable
+ * snapshots of the {@link LocationRegistry} instances and the {@link HomeCache}, which are safe to read from any
+ * thread. Homes which are not cached are loaded, and the completion waits up to {@value #HOME_LOAD_TIMEOUT_MILLIS}
+ * milliseconds for them when the event is fired off the main thread. If the data is still not available, the event
+ * is left unhandled and the synchronous {@link net.kissenpvp.core.api.command.annotations.TabCompleter} of the
+ * command answers instead.</p>
+ *
+ * @see AsyncTabCompleteEvent
+ * @see LocationRegistry#getNames()
+ * @see NameIndex#startingWithIgnoreCase(String)
+ */
+public class AsyncTabCompleter implements Listener {
+
+    private static final String PERMISSION_PREFIX = "kissen.command.";
+    private static final long HOME_LOAD_TIMEOUT_MILLIS = 500;
+    private static final Map<String, Target> LABELS;
+
+    static {
+        LABELS = new HashMap<>();
+        register(Source.WARP, "warp");
+        register(Source.WARP, "warpdelete", "deletewarp");
+        register(Source.HOME, "home");
+        register(Source.HOME, "homedelete", "deletehome", "delhome", "homedel");
+    }
+
+    private final Warp plugin;
+
+    /**
+     * Constructs an AsyncTabCompleter answering from the caches of the specified plugin.
+     *
+     * @param plugin the {@link Warp} plugin holding the warps and the home cache
+     */
+    public AsyncTabCompleter(@NotNull Warp plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
+    public void onAsyncTabComplete(@NotNull AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) {
+            return;
+        }
+
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int separator = buffer.indexOf(' ', start);
+        if (separator < 0 || buffer.indexOf(' ', separator + 1) >= 0) {
+            return; // the label itself or a later argument is being completed
+        }
+
+        String label = buffer.substring(start, separator).toLowerCase(Locale.ROOT);
+        label = label.substring(label.indexOf(':') + 1);
+        Target target = LABELS.get(label);
+        if (target == null || !event.getSender().hasPermission(PERMISSION_PREFIX + target.command())) {
+            return;
+        }
+
+        NameIndex names = getNames(target.source(), event.getSender());
+        if (names == null) {
+            return;
+        }
+
+        event.setCompletions(names.startingWithIgnoreCase(buffer.substring(separator + 1)));
+        event.setHandled(true);
+    }
+
+    private @Nullable NameIndex getNames(@NotNull Source source, @NotNull CommandSender sender) {
+        return switch (source) {
+            case WARP -> plugin.isWarpsLoaded() ? plugin.getWarps().getNames() : null;
+            case HOME -> {
+                if (!(sender instanceof Player player)) {
+                    yield null;
+                }
+                LocationRegistry homes = plugin.getHomeCache().getIfLoaded(player);
+                yield homes != null ? homes.getNames() : awaitHomeNames(player);
+            }
+        };
+    }
+
+    /**
+     * Loads the homes of the specified player and waits for them, unless this would block the main thread.
+     *
+     * <p>Loads complete on the main thread, so waiting for one on the main thread would never finish. The load
+     * is started either way, so a later completion request finds the homes cached.</p>
+     */
+    private @Nullable NameIndex awaitHomeNames(@NotNull Player player) {
+        CompletableFuture<LocationRegistry> load = plugin.getHomeCache().load(player);
+        if (Bukkit.isPrimaryThread()) {
+            return null;
+        }
+
+        try {
+            return load.get(HOME_LOAD_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).getNames();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException exception) {
+            return null;
+        }
+    }
+
+    private static void register(@NotNull Source source, @NotNull String command, @NotNull String... aliases) {
+        Target target = new Target(source, command);
+        LABELS.put(command, target);
+        for (String alias : aliases) {
+            LABELS.put(alias, target);
+        }
+    }
+
+    private record Target(@NotNull Source source, @NotNull String command) {}
+
+    private enum Source {
+        WARP,
+        HOME
+    }
+}
@@ -0,0 +1,153 @@
+package net.kissenpvp;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * The BulkTeleport class, teleporting many players to one {@link LocationNode} spread across ticks.
+ *
+ * <p>The {@code BulkTeleport} first acquires the chunks around the destination through the {@link ChunkWarmer},
+ * which loads them asynchronously and holds a plugin chunk ticket on them, so they stay loaded while the players
+ * arrive. The chunks are released through the {@link ChunkWarmer} as well, so chunks kept loaded for other
+ * reasons stay loaded. It then teleports at most the configured
+ * amount of players per tick, instead of moving every player within the same tick. Players who left the server
+ * before their turn are skipped.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * new BulkTeleport(plugin, spawn, chunkWarmer, Bukkit.getOnlinePlayers(), message, 20).start()
+ *         .thenAccept(count -> sender.sendMessage(Component.text(count + " players teleported.")));
+ * }
+ * </pre>
+ *
+ * @see Warp#teleportAll(LocationNode, Collection, Component)
+ */
+public class BulkTeleport implements Consumer<BukkitTask> {
+
+    private static final int CHUNK_RADIUS = 1;
+
+    private final Warp plugin;
+    private final LocationNode target;
+    private final ChunkWarmer chunkWarmer;
+    private final List<ChunkWarmer.ChunkPosition> chunks;
+    private final Queue<UUID> players;
+    private final Component message;
+    private final int perTick;
+    private final CompletableFuture<Integer> result;
+    private int teleported;
+
+    /**
+     * Constructs a BulkTeleport moving the specified players to the specified location.
+     *
+     * @param plugin      the {@link Warp} plugin performing the teleport
+     * @param target      the {@link LocationNode} to teleport the players to
+     * @param chunkWarmer the {@link ChunkWarmer} owning the chunk tickets
+     * @param players     the players to teleport
+     * @param message     the message sent to every teleported player
+     * @param perTick     the maximum amount of players teleported per tick
+     * @throws NullPointerException     if any of the parameters is {@code null}
+     * @throws IllegalArgumentException if the amount of players per tick is not positive
+     */
+    public BulkTeleport(@NotNull Warp plugin, @NotNull LocationNode target, @NotNull ChunkWarmer chunkWarmer, @NotNull Collection<? extends Player> players, @NotNull Component message, int perTick) {
+        if (perTick <= 0) {
+            throw new IllegalArgumentException("The amount of players per tick must be positive.");
+        }
+
+        this.plugin = plugin;
+        this.target = target;
+        this.chunkWarmer = chunkWarmer;
+        this.chunks = new ArrayList<>();
+        this.players = new ArrayDeque<>(players.size());
+        this.message = message;
+        this.perTick = perTick;
+        this.result = new CompletableFuture<>();
+
+        for (Player player : players) {
+            this.players.add(player.getUniqueId());
+        }
+
+        ChunkWarmer.ChunkPosition center = ChunkWarmer.ChunkPosition.of(target);
+        for (int x = center.x() - CHUNK_RADIUS; x <= center.x() + CHUNK_RADIUS; x++) {
+            for (int z = center.z() - CHUNK_RADIUS; z <= center.z() + CHUNK_RADIUS; z++) {
+                chunks.add(new ChunkWarmer.ChunkPosition(center.world(), x, z));
+            }
+        }
+    }
+
+    /**
+     * Starts the bulk teleport.
+     *
+     * <p>The destination chunks are loaded asynchronously first. Once they are available, a task is started
+     * which teleports the players in batches of the configured size on each tick.</p>
+     *
+     * @return a {@link CompletableFuture} completing with the amount of teleported players once all players are processed
+     */
+    public @NotNull CompletableFuture<Integer> start() {
+        CompletableFuture<?>[] loaded = chunks.stream().map(chunkWarmer::acquire).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(loaded).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                // chunks which failed to load hold no reference in the chunk warmer
+                for (int i = 0; i < loaded.length; i++) {
+                    if (!loaded[i].isCompletedExceptionally()) {
+                        chunkWarmer.release(chunks.get(i));
+                    }
+                }
+                result.completeExceptionally(throwable);
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> Bukkit.getScheduler().runTaskTimer(plugin, this, 0L, 1L));
+        });
+        return result;
+    }
+
+    /**
+     * Teleports the next batch of players.
+     *
+     * <p>If a teleport fails, for example because the destination world was unloaded in the meantime, the bulk
+     * teleport is aborted: the task is cancelled, the chunk tickets are released and the future completes
+     * exceptionally.</p>
+     *
+     * @param task the {@link BukkitTask} running this bulk teleport
+     */
+    @Override
+    public void accept(@NotNull BukkitTask task) {
+        try {
+            for (int i = 0; i < perTick && !players.isEmpty(); i++) {
+                Player player = Bukkit.getPlayer(players.poll());
+                if (player != null) {
+                    plugin.teleport(message, target, player);
+                    teleported++;
+                }
+            }
+        } catch (RuntimeException exception) {
+            task.cancel();
+            release();
+            result.completeExceptionally(exception);
+            return;
+        }
+
+        if (players.isEmpty()) {
+            task.cancel();
+            release();
+            result.complete(teleported);
+        }
+    }
+
+    private void release() {
+        chunks.forEach(chunkWarmer::release);
+    }
+}
@@ -0,0 +1,196 @@
+package net.kissenpvp;
+
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The ChunkWarmer class, keeping the destination chunks of selected locations loaded.
+ *
+ * <p>The {@code ChunkWarmer} holds a plugin chunk ticket on the chunk of every location it is told to retain.
+ * Chunks are loaded asynchronously before the ticket is added, and tickets of locations no longer retained
+ * are released, so the amount of chunks kept loaded is bounded by the retained locations.</p>
+ *
+ * <p>Plugin chunk tickets are not reference-counted by the server: a chunk has at most one ticket per plugin,
+ * and removing it releases the chunk for every user within the plugin. The {@code ChunkWarmer} is therefore the
+ * only owner of the tickets of this plugin. Other users, like a {@link BulkTeleport}, {@link #acquire(ChunkPosition)}
+ * and {@link #release(ChunkPosition)} chunks through it, and a ticket is only removed once the last reference to
+ * its chunk has been released. A failed acquisition holds no reference: its ticket is dropped, so the next
+ * acquisition loads the chunk again, and it must not be released. All methods have to be called on the main
+ * thread.</p>
+ *
+ * @see LocationNode
+ * @see World#addPluginChunkTicket(int, int, Plugin)
+ */
+public class ChunkWarmer {
+
+    private final Plugin plugin;
+    private final WorldRegistry worldRegistry;
+    private final Map<ChunkPosition, CompletableFuture<Void>> retained;
+    private final Map<ChunkPosition, Ticket> tickets;
+
+    /**
+     * Constructs a ChunkWarmer adding tickets on behalf of the specified plugin.
+     *
+     * @param plugin        the {@link Plugin} owning the chunk tickets
+     * @param worldRegistry the {@link WorldRegistry} used to resolve the worlds of the locations
+     */
+    public ChunkWarmer(@NotNull Plugin plugin, @NotNull WorldRegistry worldRegistry) {
+        this.plugin = plugin;
+        this.worldRegistry = worldRegistry;
+        this.retained = new HashMap<>();
+        this.tickets = new HashMap<>();
+    }
+
+    /**
+     * Keeps the chunks of exactly the specified locations loaded.
+     *
+     * <p>Chunks not yet retained are acquired, chunks which were retained before, but do not belong to any of the
+     * specified locations, are released. Chunks also acquired by someone else stay loaded until they are released
+     * there as well. Chunks which failed to load, for example because their world was not loaded, are acquired
+     * again by the next call.</p>
+     *
+     * @param locations the locations whose chunks should be kept loaded
+     * @throws NullPointerException if the collection is {@code null}
+     */
+    public void retain(@NotNull Collection<LocationNode> locations) {
+        Set<ChunkPosition> desired = new HashSet<>();
+        for (LocationNode location : locations) {
+            desired.add(ChunkPosition.of(location));
+        }
+
+        for (Iterator<ChunkPosition> iterator = retained.keySet().iterator(); iterator.hasNext(); ) {
+            ChunkPosition position = iterator.next();
+            if (!desired.contains(position)) {
+                iterator.remove();
+                release(position);
+            }
+        }
+
+        for (ChunkPosition position : desired) {
+            if (!retained.containsKey(position)) {
+                CompletableFuture<Void> loaded = acquire(position);
+                retained.put(position, loaded);
+                loaded.whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        retained.remove(position, loaded);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Removes all chunk tickets of the plugin, regardless of the references still held.
+     *
+     * <p>This method is meant to be called when the plugin is disabled. Releases of references acquired before
+     * are ignored afterwards.</p>
+     */
+    public void releaseAll() {
+        tickets.keySet().forEach(this::removeTicket);
+        tickets.clear();
+        retained.clear();
+    }
+
+    /**
+     * Acquires a reference to the specified chunk, loading it asynchronously and ticketing it.
+     *
+     * <p>If the chunk cannot be loaded, the ticket is dropped and every reference sharing it is void, so the
+     * caller must not release it. The next acquisition of the chunk tries to load it again.</p>
+     *
+     * @param position the {@link ChunkPosition} of the chunk
+     * @return a {@link CompletableFuture} completing once the chunk is loaded and ticketed, or exceptionally if the
+     * world is not loaded or the chunk failed to load
+     */
+    public @NotNull CompletableFuture<Void> acquire(@NotNull ChunkPosition position) {
+        Ticket ticket = tickets.get(position);
+        if (ticket != null) {
+            ticket.references++;
+            return ticket.loaded;
+        }
+
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+        Ticket created = new Ticket(loaded);
+        tickets.put(position, created);
+
+        World world = worldRegistry.getWorld(position.world());
+        if (world == null) {
+            tickets.remove(position, created);
+            loaded.completeExceptionally(new IllegalStateException("The world of " + position + " is not loaded."));
+            return loaded;
+        }
+
+        world.getChunkAtAsync(position.x(), position.z()).whenComplete((chunk, throwable) -> {
+            if (throwable != null) {
+                tickets.remove(position, created);
+                loaded.completeExceptionally(throwable);
+                return;
+            }
+            if (tickets.get(position) == created) {
+                chunk.addPluginChunkTicket(plugin);
+            }
+            loaded.complete(null);
+        });
+        return loaded;
+    }
+
+    /**
+     * Releases a reference to the specified chunk, removing its ticket once no reference is left.
+     *
+     * @param position the {@link ChunkPosition} of the chunk
+     */
+    public void release(@NotNull ChunkPosition position) {
+        Ticket ticket = tickets.get(position);
+        if (ticket == null || --ticket.references > 0) {
+            return;
+        }
+
+        tickets.remove(position);
+        removeTicket(position);
+    }
+
+    private void removeTicket(@NotNull ChunkPosition position) {
+        World world = worldRegistry.getWorld(position.world());
+        if (world != null) {
+            world.removePluginChunkTicket(position.x(), position.z(), plugin);
+        }
+    }
+
+    /**
+     * The position of a chunk within a world.
+     *
+     * @param world the {@link WorldRegistry} id of the world
+     * @param x     the chunk x-coordinate
+     * @param z     the chunk z-coordinate
+     */
+    public record ChunkPosition(int world, int x, int z) {
+
+        /**
+         * Creates the position of the chunk containing the specified location.
+         *
+         * @param location the {@link LocationNode} to get the chunk position of
+         * @return the {@link ChunkPosition} of the location
+         */
+        public static @NotNull ChunkPosition of(@NotNull LocationNode location) {
+            return new ChunkPosition(WorldRegistry.idOf(location.worldName()), (int) Math.floor(location.x()) >> 4, (int) Math.floor(location.z()) >> 4);
+        }
+    }
+
+    private static final class Ticket {
+        private final CompletableFuture<Void> loaded;
+        private int references;
+
+        private Ticket(@NotNull CompletableFuture<Void> loaded) {
+            this.loaded = loaded;
+            this.references = 1;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package net.kissenpvp;
+
+import net.kissenpvp.storage.StagedHomes;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * The EssentialsImporter class, importing homes and warps from the data files of EssentialsX.
+ *
+ * <p>The {@code EssentialsImporter} streams the {@code warps} and {@code userdata} directories of an EssentialsX
+ * data folder. Directories are iterated lazily and at most the configured amount of files is parsed at the same
+ * time, so the memory used by an import does not grow with the amount of files. Warps are collected into
+ * batches of {@value #BATCH_SIZE} and added to the warp registry on the main thread through
+ * {@link LocationRegistry#putAllAbsent(java.util.Collection)}, which writes them with the regular flushes. Only the
+ * warps which were actually added are counted. If the warps are not loaded when a batch arrives, the import fails
+ * once the remaining files have been parsed. The homes of every user file are handed to {@link StagedHomes} and merged into the home list of the player the next
+ * time it is loaded, because the home list is only reachable while the player is online. Existing homes and
+ * warps are never replaced by imported ones.</p>
+ *
+ * <p>Only one import runs at a time. Files which cannot be parsed are counted as failed and skipped.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * importer.start(essentialsFolder, progress -> sender.sendMessage(progress.toString()))
+ *         .thenAccept(progress -> sender.sendMessage("Done: " + progress));
+ * }
+ * </pre>
+ *
+ * @see StagedHomes
+ * @see HomeCache#mergeStaged()
+ */
+public class EssentialsImporter {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long PROGRESS_TICKS = 100L;
+
+    private final Warp plugin;
+    private final StagedHomes staged;
+    private final Executor executor;
+    private final Executor mainThread;
+    private final int parallelism;
+    private final AtomicBoolean running;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs an EssentialsImporter parsing up to the specified amount of files in parallel.
+     *
+     * @param plugin      the {@link Warp} plugin receiving the imported warps
+     * @param staged      the {@link StagedHomes} receiving the imported homes
+     * @param parallelism the maximum amount of files parsed at the same time
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public EssentialsImporter(@NotNull Warp plugin, @NotNull StagedHomes staged, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        }
+
+        this.plugin = plugin;
+        this.staged = staged;
+        this.executor = plugin.getExecutor();
+        this.mainThread = task -> Bukkit.getScheduler().runTask(plugin, task);
+        this.parallelism = parallelism;
+        this.running = new AtomicBoolean();
+    }
+
+    /**
+     * Starts importing the homes and warps of the specified EssentialsX data folder.
+     *
+     * <p>The import runs on the executor of the plugin. The listener is called on the main thread every few
+     * seconds with the current progress. The returned future completes on the main thread, after the staged homes
+     * of the players whose homes are already cached have been merged.</p>
+     *
+     * @param source   the data folder of EssentialsX, containing the {@code warps} and {@code userdata} directories
+     * @param listener the {@link Consumer} receiving the progress of the import
+     * @return a {@link CompletableFuture} completing with the final {@link Progress}
+     * @throws IllegalStateException if an import is already running
+     */
+    public @NotNull CompletableFuture<Progress> start(@NotNull Path source, @NotNull Consumer<Progress> listener) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An import is already running.");
+        }
+
+        cancelled = false;
+        Counters counters = new Counters();
+        BukkitTask reporter = Bukkit.getScheduler().runTaskTimer(plugin, () -> listener.accept(counters.snapshot()), PROGRESS_TICKS, PROGRESS_TICKS);
+
+        CompletableFuture<Progress> result = CompletableFuture.supplyAsync(() -> run(source, counters), executor).whenCompleteAsync((progress, throwable) -> {
+            reporter.cancel();
+            running.set(false);
+            plugin.getHomeCache().mergeStaged();
+        }, mainThread);
+        result.whenComplete((progress, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to import from " + source + ".", throwable);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Stops a running import after the files currently being parsed.
+     *
+     * <p>This method is called when the plugin is disabled, so the shutdown does not wait for the remaining files.</p>
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private @NotNull Progress run(@NotNull Path source, @NotNull Counters counters) {
+        Semaphore permits = new Semaphore(parallelism);
+        WarpBatch warps = new WarpBatch(counters);
+        try {
+            importDirectory(source.resolve("warps"), permits, counters, file -> importWarp(file, warps, counters));
+            importDirectory(source.resolve("userdata"), permits, counters, file -> importUser(file, counters));
+            permits.acquire(parallelism);
+            permits.release(parallelism);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The import was interrupted.", exception);
+        }
+
+        warps.submit();
+        warps.await();
+        return counters.snapshot();
+    }
+
+    /**
+     * Parses every YAML file of the specified directory, with at most {@link #parallelism} files at a time.
+     *
+     * <p>The directory is streamed instead of listed, so its size does not matter. Missing directories are
+     * skipped.</p>
+     */
+    private void importDirectory(@NotNull Path directory, @NotNull Semaphore permits, @NotNull Counters counters, @NotNull FileImport task) throws IOException, InterruptedException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.yml")) {
+            for (Path file : files) {
+                if (cancelled) {
+                    return;
+                }
+
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        task.run(file);
+                    } catch (Exception exception) {
+                        counters.failed.increment();
+                        plugin.getLogger().log(Level.FINE, "Failed to import " + file + ".", exception);
+                    } finally {
+                        counters.files.increment();
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void importWarp(@NotNull Path file, @NotNull WarpBatch warps, @NotNull Counters counters) {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file.toFile());
+        String name = config.getString("name", stripExtension(file));
+        LocationNode warp = toNode(name, config);
+        if (warp == null) {
+            throw new IllegalArgumentException("The warp file does not contain a location.");
+        }
+
+        warps.add(warp);
+    }
+
+    private void importUser(@NotNull Path file, @NotNull Counters counters) throws IOException {
+        UUID uuid = UUID.fromString(stripExtension(file));
+        ConfigurationSection section = YamlConfiguration.loadConfiguration(file.toFile()).getConfigurationSection("homes");
+        if (section == null) {
+            return;
+        }
+
+        List<LocationNode> homes = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection home = section.getConfigurationSection(name);
+            LocationNode node = home != null ? toNode(name, home) : null;
+            if (node != null) {
+                homes.add(node);
+            }
+        }
+
+        staged.stage(uuid, homes);
+        counters.homes.add(homes.size());
+    }
+
+    /**
+     * Converts a location section of EssentialsX into a {@link LocationNode}.
+     *
+     * <p>Newer versions of EssentialsX store the {@link UUID} of the world in {@code world} and its name in
+     * {@code world-name}, older versions only store the name in {@code world}. A world {@link UUID} without a name
+     * is resolved through the loaded worlds.</p>
+     */
+    private static @Nullable LocationNode toNode(@NotNull String name, @NotNull ConfigurationSection section) {
+        String world = section.getString("world-name", section.getString("world"));
+        if (world == null || !section.contains("x") || !section.contains("y") || !section.contains("z")) {
+            return null;
+        }
+
+        if (!section.contains("world-name")) {
+            world = resolveWorld(world);
+        }
+        return new LocationNode(name, world, section.getDouble("x"), section.getDouble("y"), section.getDouble("z"), (float) section.getDouble("yaw"), (float) section.getDouble("pitch"));
+    }
+
+    private static @NotNull String resolveWorld(@NotNull String world) {
+        try {
+            World loaded = Bukkit.getWorld(UUID.fromString(world));
+            return loaded != null ? loaded.getName() : world;
+        } catch (IllegalArgumentException exception) {
+            return world;
+        }
+    }
+
+    private static @NotNull String stripExtension(@NotNull Path file) {
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return extension < 0 ? name : name.substring(0, extension);
+    }
+
+    /**
+     * The progress of an import.
+     *
+     * @param files  the amount of files processed
+     * @param homes  the amount of homes staged
+     * @param warps  the amount of warps added, warps whose name was already taken are not counted
+     * @param failed the amount of files which could not be imported
+     */
+    public record Progress(long files, long homes, long warps, long failed) {}
+
+    @FunctionalInterface
+    private interface FileImport {
+        void run(@NotNull Path file) throws Exception;
+    }
+
+    private static final class Counters {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder homes = new LongAdder();
+        private final LongAdder warps = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private @NotNull Progress snapshot() {
+            return new Progress(files.sum(), homes.sum(), warps.sum(), failed.sum());
+        }
+    }
+
+    /**
+     * Collects imported warps and hands them to the warp registry on the main thread in batches.
+     *
+     * <p>Every submitted batch is tracked, so the import only finishes once all warps have reached the registry, and
+     * fails if any batch could not be added.</p>
+     */
+    private final class WarpBatch {
+
+        private final Counters counters;
+        private final List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        private List<LocationNode> batch = new ArrayList<>(BATCH_SIZE);
+
+        private WarpBatch(@NotNull Counters counters) {
+            this.counters = counters;
+        }
+
+        private void add(@NotNull LocationNode warp) {
+            List<LocationNode> full = null;
+            synchronized (this) {
+                batch.add(warp);
+                if (batch.size() >= BATCH_SIZE) {
+                    full = batch;
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (full != null) {
+                submit(full);
+            }
+        }
+
+        private void submit() {
+            List<LocationNode> remaining;
+            synchronized (this) {
+                remaining = batch;
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+            if (!remaining.isEmpty()) {
+                submit(remaining);
+            }
+        }
+
+        private void submit(@NotNull List<LocationNode> warps) {
+            CompletableFuture<Void> added = CompletableFuture.supplyAsync(() -> {
+                if (!plugin.isWarpsLoaded()) {
+                    throw new IllegalStateException("The warps are not loaded, " + warps.size() + " imported warps were dropped.");
+                }
+                return plugin.getWarps().putAllAbsent(warps);
+            }, mainThread).thenAccept(counters.warps::add);
+            synchronized (this) {
+                submitted.add(added);
+            }
+        }
+
+        private void await() {
+            List<CompletableFuture<Void>> pending;
+            synchronized (this) {
+                pending = List.copyOf(submitted);
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+}
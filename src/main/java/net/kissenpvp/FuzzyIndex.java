@@ -0,0 +1,246 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The FuzzyIndex class, a BK-tree over location names answering "did you mean" queries.
+ *
+ * <p>The {@code FuzzyIndex} arranges names by their case-insensitive Levenshtein distance. Because the distance
+ * is a metric, a query for all names within a distance {@code d} only descends into the children whose edge
+ * distance lies within {@code d} of the distance between the query and the current node. Most of the tree is
+ * skipped, and the query does not compare against every name. Distances are computed with an early exit once
+ * they are too large for the node or any of its children to match.</p>
+ *
+ * <p>Removed names are only marked as removed and the tree is rebuilt once they outnumber the live names, so
+ * removals stay cheap without degrading queries. The index is not thread-safe.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * FuzzyIndex index = new FuzzyIndex();
+ * index.add("spawn");
+ * index.add("shop");
+ * List<String> suggestions = index.search("spwan", 2, 3); // [spawn]
+ * }
+ * </pre>
+ *
+ * @see LocationRegistry#suggest(String, int)
+ */
+public class FuzzyIndex {
+
+    private Node root;
+    private int size;
+    private int removed;
+
+    /**
+     * Adds the specified name to the index.
+     *
+     * @param name the name to add
+     * @return true if the name was added, false if it was already present
+     */
+    public boolean add(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        if (root == null) {
+            root = new Node(name, key);
+            size++;
+            return true;
+        }
+
+        Node node = root;
+        while (true) {
+            if (node.name.equals(name)) {
+                if (!node.removed) {
+                    return false;
+                }
+                node.removed = false;
+                removed--;
+                size++;
+                return true;
+            }
+
+            int distance = distance(node.key, key, Integer.MAX_VALUE);
+            Node child = node.child(distance);
+            if (child == null) {
+                node.children().put(distance, new Node(name, key));
+                node.maxEdge = Math.max(node.maxEdge, distance);
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes the specified name from the index.
+     *
+     * @param name the name to remove
+     * @return true if the name was removed, false if it was not present
+     */
+    public boolean remove(@NotNull String name) {
+        Node node = find(name);
+        if (node == null || node.removed) {
+            return false;
+        }
+
+        node.removed = true;
+        size--;
+        removed++;
+        if (removed > size) {
+            rebuild();
+        }
+        return true;
+    }
+
+    /**
+     * Searches the names closest to the specified query.
+     *
+     * @param query       the text to search for
+     * @param maxDistance the maximum case-insensitive edit distance of a result
+     * @param limit       the maximum amount of results
+     * @return an unmodifiable {@link List} of the matching names, ordered by distance and then by name
+     */
+    public @NotNull @Unmodifiable List<String> search(@NotNull String query, int maxDistance, int limit) {
+        if (root == null || limit <= 0) {
+            return List.of();
+        }
+
+        String key = query.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int bound = maxDistance + node.maxEdge;
+            int distance = distance(node.key, key, bound);
+            if (distance > bound) {
+                continue;
+            }
+            if (distance <= maxDistance && !node.removed) {
+                matches.add(new Match(node.name, distance));
+            }
+
+            if (node.children != null) {
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                        stack.push(child.getValue());
+                    }
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::name));
+        return matches.stream().limit(limit).map(Match::name).toList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private @Nullable Node find(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Node node = root;
+        while (node != null && !node.name.equals(name)) {
+            node = node.child(distance(node.key, key, Integer.MAX_VALUE));
+        }
+        return node;
+    }
+
+    private void rebuild() {
+        List<String> names = new ArrayList<>(size);
+        Deque<Node> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (!node.removed) {
+                names.add(node.name);
+            }
+            if (node.children != null) {
+                node.children.values().forEach(stack::push);
+            }
+        }
+
+        root = null;
+        size = 0;
+        removed = 0;
+        names.forEach(this::add);
+    }
+
+    /**
+     * Calculates the Levenshtein distance of two strings, stopping early once it exceeds the given bound.
+     *
+     * @param first  the first string
+     * @param second the second string
+     * @param bound  the distance above which the exact value is not needed
+     * @return the distance, or a value greater than {@code bound} if the distance exceeds it
+     */
+    static int distance(@NotNull String first, @NotNull String second, int bound) {
+        if (Math.abs(first.length() - second.length()) > bound) {
+            return bound + 1;
+        }
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > bound) {
+                return bound + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    private record Match(@NotNull String name, int distance) {}
+
+    private static final class Node {
+
+        private final String name;
+        private final String key;
+        private Map<Integer, Node> children;
+        private int maxEdge;
+        private boolean removed;
+
+        private Node(@NotNull String name, @NotNull String key) {
+            this.name = name;
+            this.key = key;
+        }
+
+        private @Nullable Node child(int distance) {
+            return children != null ? children.get(distance) : null;
+        }
+
+        private @NotNull Map<Integer, Node> children() {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            return children;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package net.kissenpvp;
+
+import net.kissenpvp.storage.StagedHomes;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+
+/**
+ * The HomeCache class, keeping the home registries of players in memory.
+ *
+ * <p>The {@code HomeCache} resolves the user repository of a player and indexes the home list stored in it
+ * once, instead of doing so on every home command and tab completion. Entries are prefetched as soon as the
+ * login of a player has been allowed, so they are usually ready before the player spawns. Joins and first
+ * accesses load the entry as well if the prefetch did not happen or failed. Entries are evicted when the player
+ * quits or has not used a home for the configured idle time. Entries of players who are not online, because
+ * their login was allowed but they never joined, are evicted once they were not used for
+ * {@value #OFFLINE_GRACE_MILLIS} milliseconds. Changes are written to the {@code home_list} of the player's
+ * repository by the {@link LocationRegistry}, and pending writes are flushed before an entry is evicted.</p>
+ *
+ * <p>Resolving the repository may have to query the database, so home lists are loaded on the executor the
+ * cache was created with and handed over to the main thread once they are indexed. Writes of the registries
+ * run on the same executor. A home list is not loaded again before the writes of its evicted registry have
+ * finished, so a reload always sees the latest state. A load which is still running when the player quits
+ * is dropped once it finishes instead of being cached.</p>
+ *
+ * <p>Homes imported for a player are merged into the home list when it is loaded, or through
+ * {@link #mergeStaged()} for players whose homes are already cached. Imported homes never replace existing
+ * homes of the same name.</p>
+ *
+ * @see LocationRegistry
+ * @see Warp#getRepository(Player)
+ * @see StagedHomes
+ */
+public class HomeCache implements Listener {
+
+    private static final String HOME_LIST = "home_list";
+    private static final long OFFLINE_GRACE_MILLIS = 60_000;
+
+    private final Plugin plugin;
+    private final Executor executor;
+    private final Executor mainThread;
+    private final StagedHomes staged;
+    private final Map<UUID, CachedHomes> cache;
+    private final Map<UUID, CompletableFuture<LocationRegistry>> loading;
+    private final Map<UUID, CompletableFuture<Integer>> evicted;
+    private final long idleMillis;
+    private final int flushThreshold;
+    private final IntConsumer writeListener;
+
+    /**
+     * Constructs a HomeCache evicting entries after the specified idle time.
+     *
+     * @param plugin         the {@link Plugin} whose scheduler completes the loads on the main thread
+     * @param executor       the {@link Executor} loading and writing the home lists
+     * @param staged         the {@link StagedHomes} holding imported homes to merge into loaded home lists
+     * @param idleMillis     the time in milliseconds after which an unused entry is evicted
+     * @param flushThreshold the amount of pending home changes per player after which they are written immediately
+     * @param writeListener  the {@link IntConsumer} notified with the amount of homes of every write
+     * @see LocationRegistry#LocationRegistry(net.kissenpvp.core.api.database.meta.list.MetaList, int, Executor, IntConsumer, java.util.function.Consumer)
+     */
+    public HomeCache(@NotNull Plugin plugin, @NotNull Executor executor, @NotNull StagedHomes staged, long idleMillis, int flushThreshold, @NotNull IntConsumer writeListener) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.mainThread = task -> Bukkit.getScheduler().runTask(plugin, task);
+        this.staged = staged;
+        this.cache = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+        this.evicted = new ConcurrentHashMap<>();
+        this.idleMillis = idleMillis;
+        this.flushThreshold = flushThreshold;
+        this.writeListener = writeListener;
+    }
+
+    /**
+     * Retrieves the home registry of the specified player if it is already cached.
+     *
+     * @param player the {@link Player} whose homes to retrieve
+     * @return the {@link LocationRegistry} holding the homes of the player, or {@code null} if it is not loaded
+     * @throws NullPointerException if the player is {@code null}
+     * @see #load(Player)
+     */
+    public @Nullable LocationRegistry getIfLoaded(@NotNull Player player) {
+        CachedHomes homes = cache.get(player.getUniqueId());
+        if (homes == null) {
+            return null;
+        }
+        homes.lastAccess = System.currentTimeMillis();
+        return homes.registry;
+    }
+
+    /**
+     * Loads the home registry of the specified player without blocking the calling thread.
+     *
+     * <p>The home list is read from the repository of the player on the executor of this cache. The returned
+     * future completes on the main thread, after the registry has been cached. Concurrent requests for the same
+     * player share a single load, and a cached registry is returned immediately.</p>
+     *
+     * @param player the {@link Player} whose homes to load
+     * @return a {@link CompletableFuture} completing with the {@link LocationRegistry} of the player
+     * @throws NullPointerException if the player is {@code null}
+     */
+    public @NotNull CompletableFuture<LocationRegistry> load(@NotNull Player player) {
+        LocationRegistry cached = getIfLoaded(player);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loading.computeIfAbsent(player.getUniqueId(), uuid -> startLoad(uuid, player));
+    }
+
+    /**
+     * Evicts every entry which has not been accessed within the configured idle time.
+     *
+     * <p>Entries of players who are not online are evicted after a short grace period instead, which covers the
+     * time between an allowed login and the join. This method is meant to be called periodically from a scheduler
+     * task on the main thread.</p>
+     */
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        long threshold = now - idleMillis;
+        long offlineThreshold = now - Math.min(idleMillis, OFFLINE_GRACE_MILLIS);
+        cache.entrySet().removeIf(entry -> {
+            long lastAccess = entry.getValue().lastAccess;
+            if (lastAccess < threshold || lastAccess < offlineThreshold && Bukkit.getPlayer(entry.getKey()) == null) {
+                evict(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Writes the pending home changes of all cached players to their repositories on the executor of this cache.
+     *
+     * @see LocationRegistry#flushAsync()
+     */
+    public void flushAllAsync() {
+        for (Map.Entry<UUID, CachedHomes> entry : cache.entrySet()) {
+            entry.getValue().registry.flushAsync().whenComplete((written, throwable) -> logFailure(entry.getKey(), throwable));
+        }
+    }
+
+    /**
+     * Writes the pending home changes of all cached players to their repositories.
+     *
+     * <p>Writes of evicted registries which are still in progress are waited for as well, so every change is
+     * persisted once this method returns.</p>
+     *
+     * @return the amount of homes written
+     * @see LocationRegistry#flush()
+     */
+    public int flushAll() {
+        evicted.values().forEach(write -> write.exceptionally(throwable -> 0).join());
+        int written = 0;
+        for (CachedHomes homes : cache.values()) {
+            written += homes.registry.flush();
+        }
+        return written;
+    }
+
+    /**
+     * Merges the staged homes of all cached players into their home registries.
+     *
+     * <p>Home lists loaded after homes were staged merge them on their own. This method covers the players whose
+     * homes were already cached while the import ran. The staged files are read on the executor of this cache,
+     * the homes are added on the main thread and the staged files are removed once the homes have been written.</p>
+     *
+     * @see StagedHomes
+     */
+    public void mergeStaged() {
+        for (Map.Entry<UUID, CachedHomes> entry : cache.entrySet()) {
+            UUID uuid = entry.getKey();
+            LocationRegistry registry = entry.getValue().registry;
+            CompletableFuture.supplyAsync(() -> readStaged(uuid), executor).thenComposeAsync(homes -> {
+                if (homes.isEmpty()) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                registry.putAllAbsent(homes);
+                return registry.flushAsync().thenApply(written -> true);
+            }, mainThread).thenAcceptAsync(merged -> {
+                if (merged) {
+                    discardStaged(uuid);
+                }
+            }, executor).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to merge the imported homes of " + uuid + ".", throwable);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the homes of all cached players.
+     *
+     * <p>The returned lists are the immutable snapshots of the registries, so this method is cheap and the result
+     * can be processed on any thread.</p>
+     *
+     * @return a {@link Map} of the name-sorted homes of every cached player, keyed by the {@link UUID} of the player
+     * @see LocationRegistry#sorted()
+     */
+    public @NotNull Map<UUID, List<LocationNode>> snapshot() {
+        Map<UUID, List<LocationNode>> homes = new HashMap<>(cache.size());
+        cache.forEach((uuid, cached) -> homes.put(uuid, cached.registry.sorted()));
+        return homes;
+    }
+
+    /**
+     * Reads the homes of the specified player straight from the repository of the player, bypassing the cache.
+     *
+     * <p>The read may query the database, so this method must not be called on the main thread. Changes which are
+     * cached but not flushed yet are not part of the result, {@link #snapshot()} should be preferred for players
+     * whose homes are cached.</p>
+     *
+     * @param player the {@link OfflinePlayer} whose homes to read
+     * @return an unmodifiable copy of the homes of the player
+     * @throws NullPointerException if the player is {@code null}
+     * @see Warp#getRepository(OfflinePlayer)
+     */
+    public static @NotNull List<LocationNode> readHomes(@NotNull OfflinePlayer player) {
+        return List.copyOf(Warp.getRepository(player).getListNotNull(HOME_LIST, LocationNode.class));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(@NotNull PlayerLoginEvent event) {
+        if (event.getResult() == PlayerLoginEvent.Result.ALLOWED) {
+            load(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        load(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        loading.remove(uuid);
+        CachedHomes homes = cache.remove(uuid);
+        if (homes != null) {
+            evict(uuid, homes);
+        }
+    }
+
+    private @NotNull CompletableFuture<LocationRegistry> startLoad(@NotNull UUID uuid, @NotNull Player player) {
+        CompletableFuture<Integer> pendingWrite = evicted.getOrDefault(uuid, CompletableFuture.completedFuture(0));
+        CompletableFuture<LocationRegistry> read = pendingWrite.exceptionally(throwable -> 0).thenApplyAsync(written -> read(uuid, player), executor);
+
+        // the load is only cached if it is still registered, a quit in the meantime unregisters it
+        CompletableFuture<LocationRegistry> future = new CompletableFuture<>();
+        read.whenCompleteAsync((registry, throwable) -> {
+            boolean current = loading.remove(uuid, future);
+            if (throwable != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to load the homes of " + uuid + ".", throwable);
+                future.completeExceptionally(throwable);
+                return;
+            }
+
+            if (current) {
+                cache.putIfAbsent(uuid, new CachedHomes(registry));
+            }
+            future.complete(registry);
+        }, mainThread);
+        return future;
+    }
+
+    /**
+     * Reads the home list of the specified player and merges the homes staged for the player into it.
+     *
+     * <p>The merged homes are written before the staged file is removed, so they are not lost if the server stops
+     * in between. A failed merge is logged and leaves the staged homes for the next load.</p>
+     */
+    private @NotNull LocationRegistry read(@NotNull UUID uuid, @NotNull Player player) {
+        LocationRegistry registry = new LocationRegistry(Warp.getRepository(player).getListNotNull(HOME_LIST, LocationNode.class), flushThreshold, executor, writeListener, throwable -> logFailure(uuid, throwable));
+        try {
+            List<LocationNode> homes = readStaged(uuid);
+            if (!homes.isEmpty()) {
+                registry.putAllAbsent(homes);
+                registry.flush();
+                discardStaged(uuid);
+            }
+        } catch (RuntimeException exception) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to merge the imported homes of " + uuid + ".", exception);
+        }
+        return registry;
+    }
+
+    private @NotNull List<LocationNode> readStaged(@NotNull UUID uuid) {
+        try {
+            return staged.read(uuid);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void discardStaged(@NotNull UUID uuid) {
+        try {
+            staged.discard(uuid);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void evict(@NotNull UUID uuid, @NotNull CachedHomes homes) {
+        CompletableFuture<Integer> write = homes.registry.flushAsync();
+        evicted.put(uuid, write);
+        write.whenComplete((written, throwable) -> {
+            evicted.remove(uuid, write);
+            logFailure(uuid, throwable);
+        });
+    }
+
+    private void logFailure(@NotNull UUID uuid, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to write the homes of " + uuid + ".", throwable);
+        }
+    }
+
+    private static final class CachedHomes {
+        private final LocationRegistry registry;
+        private volatile long lastAccess;
+
+        private CachedHomes(@NotNull LocationRegistry registry) {
+            this.registry = registry;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package net.kissenpvp;
+
+import net.kissenpvp.pulvinar.api.permission.Permission;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The HomeLimits class, caching the maximum amount of homes of each player.
+ *
+ * <p>The {@code HomeLimits} resolves the home limit of a player from their {@code kissen.command.homeset.<n>}
+ * permissions once, when the player joins, instead of on every {@code /sethome}. The limit is the highest
+ * {@code <n>} of all valid permissions, found in a single pass without sorting, or the configured default if
+ * the player has no such permission.</p>
+ *
+ * <p>The server does not announce permission changes, so cached limits are recomputed when the player
+ * changes the world, when {@link #invalidate(Player)} is called, or after the configured time to live.</p>
+ *
+ * @see Warp#getMaxHomes()
+ */
+public class HomeLimits implements Listener {
+
+    public static final String PERMISSION_PREFIX = "kissen.command.homeset.";
+
+    private final Map<UUID, CachedLimit> limits;
+    private final int defaultLimit;
+    private final long ttlMillis;
+
+    /**
+     * Constructs a HomeLimits cache.
+     *
+     * @param defaultLimit the limit of players without any home limit permission
+     * @param ttlMillis    the time in milliseconds after which a cached limit is recomputed
+     */
+    public HomeLimits(int defaultLimit, long ttlMillis) {
+        this.limits = new ConcurrentHashMap<>();
+        this.defaultLimit = defaultLimit;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Retrieves the maximum amount of homes the specified player can have.
+     *
+     * @param player the {@link Player} to retrieve the limit of
+     * @return the cached or freshly computed home limit
+     * @throws NullPointerException if the player is {@code null}
+     */
+    public int get(@NotNull Player player) {
+        long now = System.currentTimeMillis();
+        CachedLimit limit = limits.get(player.getUniqueId());
+        if (limit == null || limit.expiresAt() < now) {
+            limit = new CachedLimit(compute(player), now + ttlMillis);
+            limits.put(player.getUniqueId(), limit);
+        }
+        return limit.value();
+    }
+
+    /**
+     * Discards the cached limit of the specified player, so it is recomputed on the next access.
+     *
+     * @param player the {@link Player} whose permissions changed
+     */
+    public void invalidate(@NotNull Player player) {
+        limits.remove(player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        invalidate(event.getPlayer());
+        get(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(@NotNull PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    private int compute(@NotNull Player player) {
+        int max = -1;
+        for (Permission permission : player.getPermissionList()) {
+            if (permission.isValid()) {
+                max = Math.max(max, parseLimit(permission.getName()));
+            }
+        }
+        return max < 0 ? defaultLimit : max;
+    }
+
+    /**
+     * Parses the home limit granted by the specified permission name.
+     *
+     * <p>The permission must consist of {@link #PERMISSION_PREFIX} followed by a non-negative decimal number.
+     * The number is parsed digit by digit, so names that are not a home limit are rejected without
+     * throwing an exception.</p>
+     *
+     * @param permission the name of the permission
+     * @return the granted limit, or {@code -1} if the permission is not a valid home limit
+     */
+    public static int parseLimit(@NotNull String permission) {
+        int length = permission.length();
+        int start = PERMISSION_PREFIX.length();
+        if (length == start || length - start > 9 || !permission.startsWith(PERMISSION_PREFIX)) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = start; i < length; i++) {
+            char digit = permission.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    private record CachedLimit(int value, long expiresAt) {}
+}
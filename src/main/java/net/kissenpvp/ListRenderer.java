@@ -0,0 +1,80 @@
+package net.kissenpvp;
+
+import net.kissenpvp.core.api.util.PageBuilder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.TextColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * The ListRenderer class, rendering the clickable entries of warp and home lists.
+ *
+ * <p>The {@code ListRenderer} contains the rendering used by {@link Warp#generateComponent(Component, String, PageBuilder, int)}
+ * and the other list messages of the plugin. It depends on nothing but the entries and the color of the teleport
+ * button, so it can also be used without a running server, for example by the benchmarks.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * Component page = ListRenderer.renderPage(title, "warp", new PageBuilder<>(registry.sorted()), 1, NamedTextColor.GOLD);
+ * }
+ * </pre>
+ *
+ * @see Warp#generateComponent(Component, String, LocationRegistry, int)
+ */
+public final class ListRenderer {
+
+    private static final String COMMAND_TEMPLATE = "/%s %s";
+    private static final TranslatableComponent LIST_ENTRY = Component.translatable("server.home.list.entry");
+    private static final TranslatableComponent TELEPORT_COMPONENT = Component.translatable("server.home.teleport.chat");
+
+    private ListRenderer() {}
+
+    /**
+     * Renders a page of location entries with the header and footer of the specified {@link PageBuilder}.
+     *
+     * @param title       the title component of the page
+     * @param label       the command label the entries teleport with
+     * @param pageBuilder the {@link PageBuilder} providing the entries of the page
+     * @param page        the page number to render
+     * @param color       the color of the teleport buttons
+     * @return a {@link Component} representing the rendered page
+     */
+    public static @NotNull Component renderPage(@NotNull Component title, @NotNull String label, @NotNull PageBuilder<LocationNode> pageBuilder, int page, @NotNull TextColor color) {
+        TextComponent.Builder builder = Component.text().append(pageBuilder.getHeader(title, page)).appendNewline();
+        builder.append(pageBuilder.getEntries(page).stream().map(toListEntry(label, color)).toArray(Component[]::new));
+        builder.append(pageBuilder.getFooter(title, page));
+        return builder.asComponent();
+    }
+
+    /**
+     * Creates a {@link Function} converting a {@link LocationNode} into a list entry with a teleport button.
+     *
+     * @param label the command label the entries teleport with
+     * @param color the color of the teleport buttons
+     * @return a {@link Function} converting {@link LocationNode} to list entry {@link Component}
+     */
+    public static @NotNull Function<LocationNode, Component> toListEntry(@NotNull String label, @NotNull TextColor color) {
+        return location -> LIST_ENTRY.arguments(teleportButton(label, location, color), Component.text(location.name()));
+    }
+
+    /**
+     * Creates the clickable button running the teleport command with the specified label for a location.
+     *
+     * <p>Every location list of the plugin uses this button, so all of them teleport the same way.</p>
+     *
+     * @param label    the command label the button teleports with
+     * @param location the {@link LocationNode} to teleport to
+     * @param color    the color of the button
+     * @return the teleport button {@link Component}
+     */
+    public static @NotNull Component teleportButton(@NotNull String label, @NotNull LocationNode location, @NotNull TextColor color) {
+        String command = COMMAND_TEMPLATE.formatted(label, location.name());
+        return TELEPORT_COMPONENT.clickEvent(ClickEvent.runCommand(command)).color(color);
+    }
+}
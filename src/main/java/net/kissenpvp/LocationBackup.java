@@ -0,0 +1,283 @@
+package net.kissenpvp;
+
+import net.kissenpvp.storage.LocationArchive;
+import net.kissenpvp.storage.StagedHomes;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * The LocationBackup class, exporting warps and homes to a {@link LocationArchive} and restoring them from one.
+ *
+ * <p>An export takes the immutable snapshots of the warp registry and of every cached home registry on the main
+ * thread, so the server is only blocked for collecting the snapshots. The homes of every other player who ever
+ * joined the server are read from the repository of the player on the executor of the plugin, up to
+ * {@link #parallelism} players at a time, and streamed into the archive batch by batch. Cached registries are
+ * preferred over the repository, as they may hold changes which were not flushed yet.</p>
+ *
+ * <p>A restore reads the archive on the executor. Warps are added to the warp registry on the main thread in
+ * batches of {@value #BATCH_SIZE}, and only the warps which were actually added are counted. The homes of every
+ * player are staged in parallel through {@link StagedHomes} and merged into the home list of the player the next
+ * time it is loaded, exactly like imported homes, so they are counted as staged. Existing homes and warps are
+ * never replaced by restored ones.</p>
+ *
+ * <p>Only one export or restore runs at a time.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * backup.export(file).thenAccept(summary -> sender.sendMessage(summary.warps() + " warps exported."));
+ * }
+ * </pre>
+ *
+ * @see LocationArchive
+ * @see HomeCache#snapshot()
+ * @see HomeCache#readHomes(OfflinePlayer)
+ * @see HomeCache#mergeStaged()
+ */
+public class LocationBackup {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long DISABLE_CHECK_MILLIS = 500;
+
+    private final Warp plugin;
+    private final StagedHomes staged;
+    private final Executor executor;
+    private final Executor mainThread;
+    private final int parallelism;
+    private final AtomicBoolean running;
+
+    /**
+     * Constructs a LocationBackup processing up to the specified amount of players in parallel.
+     *
+     * @param plugin      the {@link Warp} plugin whose warps and homes are backed up
+     * @param staged      the {@link StagedHomes} receiving the restored homes
+     * @param parallelism the maximum amount of players whose homes are read during an export or staged during a
+     *                    restore at the same time
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public LocationBackup(@NotNull Warp plugin, @NotNull StagedHomes staged, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        }
+
+        this.plugin = plugin;
+        this.staged = staged;
+        this.executor = plugin.getExecutor();
+        this.mainThread = task -> Bukkit.getScheduler().runTask(plugin, task);
+        this.parallelism = parallelism;
+        this.running = new AtomicBoolean();
+    }
+
+    /**
+     * Exports the warps and the homes of all players who ever joined the server to the specified file.
+     *
+     * <p>This method has to be called on the main thread. The returned future completes on the main thread. The
+     * archive only replaces the file once it was written completely.</p>
+     *
+     * @param file the {@link Path} of the archive to write
+     * @return a {@link CompletableFuture} completing with the {@link Summary} of the written warps and homes
+     * @throws IllegalStateException if an export or restore is already running
+     */
+    public @NotNull CompletableFuture<Summary> export(@NotNull Path file) {
+        List<LocationNode> warps = plugin.getWarps().sorted();
+        Map<UUID, List<LocationNode>> cached = plugin.getHomeCache().snapshot();
+        List<OfflinePlayer> players = List.of(Bukkit.getOfflinePlayers());
+        acquire();
+
+        return finish(CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(file, warps, cached, players);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, executor), "Failed to export to " + file + ".");
+    }
+
+    /**
+     * Restores the warps and homes of the specified archive.
+     *
+     * <p>The returned future completes on the main thread, after the restored homes of the players whose homes are
+     * already cached have been merged.</p>
+     *
+     * @param file the {@link Path} of the archive to read
+     * @return a {@link CompletableFuture} completing with the {@link Summary} of the added warps and staged homes
+     * @throws IllegalStateException if an export or restore is already running
+     */
+    public @NotNull CompletableFuture<Summary> restore(@NotNull Path file) {
+        acquire();
+        return finish(CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(file);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The restore was interrupted.", exception);
+            }
+        }, executor).thenApplyAsync(restored -> {
+            plugin.getHomeCache().mergeStaged();
+            return restored;
+        }, mainThread), "Failed to restore from " + file + ".");
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A backup is already running.");
+        }
+    }
+
+    private @NotNull CompletableFuture<Summary> finish(@NotNull CompletableFuture<Summary> task, @NotNull String failure) {
+        return task.whenCompleteAsync((summary, throwable) -> {
+            running.set(false);
+            if (throwable != null) {
+                plugin.getLogger().log(Level.SEVERE, failure, throwable);
+            }
+        }, mainThread);
+    }
+
+    /**
+     * Writes the archive, reading the home lists of up to {@link #parallelism} players which are not cached at a
+     * time.
+     *
+     * <p>Only one batch of home lists is held in memory, each batch is written before the next one is read.</p>
+     */
+    private @NotNull Summary write(@NotNull Path file, @NotNull List<LocationNode> warps, @NotNull Map<UUID, List<LocationNode>> cached, @NotNull List<OfflinePlayer> players) throws IOException {
+        long homes = 0;
+        long owners = 0;
+        try (LocationArchive.Writer writer = LocationArchive.writer(file)) {
+            writer.warps(warps);
+            for (Map.Entry<UUID, List<LocationNode>> entry : cached.entrySet()) {
+                int written = writer.homes(entry.getKey(), entry.getValue());
+                homes += written;
+                owners += written > 0 ? 1 : 0;
+            }
+
+            List<OfflinePlayer> uncached = players.stream().filter(player -> !cached.containsKey(player.getUniqueId())).toList();
+            for (int start = 0; start < uncached.size(); start += parallelism) {
+                List<OfflinePlayer> batch = uncached.subList(start, Math.min(start + parallelism, uncached.size()));
+                List<CompletableFuture<List<LocationNode>>> reads = batch.stream().map(player -> CompletableFuture.supplyAsync(() -> HomeCache.readHomes(player), executor)).toList();
+                for (int i = 0; i < batch.size(); i++) {
+                    int written = writer.homes(batch.get(i).getUniqueId(), reads.get(i).join());
+                    homes += written;
+                    owners += written > 0 ? 1 : 0;
+                }
+            }
+            writer.commit();
+        }
+        return new Summary(warps.size(), homes, owners);
+    }
+
+    /**
+     * Reads the archive, adding its warps in batches and staging the homes of up to {@link #parallelism} players
+     * at a time.
+     *
+     * <p>The warp batches are waited for before the summary is created, so it contains the amount of warps
+     * {@link LocationRegistry#putAllAbsent(java.util.Collection)} actually added. The batches run on the main
+     * thread, which no longer runs tasks of the plugin once it is disabled, so the restore fails instead of
+     * waiting for them forever when the plugin is disabled in the meantime.</p>
+     */
+    private @NotNull Summary read(@NotNull Path file) throws IOException, InterruptedException {
+        Semaphore permits = new Semaphore(parallelism);
+        LongAdder addedWarps = new LongAdder();
+        LongAdder stagedHomes = new LongAdder();
+        LongAdder stagedPlayers = new LongAdder();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        LocationArchive.read(file, new LocationArchive.Visitor() {
+            @Override
+            public void warps(@NotNull List<LocationNode> warps) {
+                for (int start = 0; start < warps.size(); start += BATCH_SIZE) {
+                    List<LocationNode> batch = warps.subList(start, Math.min(start + BATCH_SIZE, warps.size()));
+                    batches.add(CompletableFuture.supplyAsync(() -> {
+                        if (!plugin.isWarpsLoaded()) {
+                            throw new IllegalStateException("The warps are not loaded, " + batch.size() + " restored warps were dropped.");
+                        }
+                        return plugin.getWarps().putAllAbsent(batch);
+                    }, mainThread).thenAccept(addedWarps::add));
+                }
+            }
+
+            @Override
+            public void homes(@NotNull UUID uuid, @NotNull List<LocationNode> homes) throws IOException {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("The restore was interrupted.", exception);
+                }
+
+                executor.execute(() -> {
+                    try {
+                        staged.stage(uuid, homes);
+                        stagedHomes.add(homes.size());
+                        stagedPlayers.increment();
+                    } catch (IOException | RuntimeException exception) {
+                        failure.compareAndSet(null, exception);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        });
+
+        permits.acquire(parallelism);
+        permits.release(parallelism);
+        if (failure.get() != null) {
+            throw new IOException("Failed to stage the restored homes.", failure.get());
+        }
+        awaitMainThread(CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)));
+        return new Summary(addedWarps.sum(), stagedHomes.sum(), stagedPlayers.sum());
+    }
+
+    private void awaitMainThread(@NotNull CompletableFuture<?> future) throws IOException, InterruptedException {
+        while (true) {
+            try {
+                future.get(DISABLE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (ExecutionException exception) {
+                throw new IOException("Failed to add the restored warps.", exception.getCause());
+            } catch (TimeoutException exception) {
+                if (!plugin.isEnabled()) {
+                    throw new IOException("The plugin was disabled before the restored warps were added.");
+                }
+            }
+        }
+    }
+
+    /**
+     * The result of an export or restore.
+     *
+     * <p>For an export, the amounts are the written warps and homes. For a restore, they are the warps which were
+     * added and the homes which were staged, as restored homes are only merged when their players are loaded.</p>
+     *
+     * @param warps   the amount of warps
+     * @param homes   the amount of homes
+     * @param players the amount of players the homes belong to
+     */
+    public record Summary(long warps, long homes, long players) {}
+}
@@ -2,8 +2,10 @@ package net.kissenpvp;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -25,20 +27,48 @@ import java.util.Objects;
  * }
  * </pre>
  *
+ * <p>Entries persisted before the rotation was recorded are loaded with a yaw and pitch of {@code 0}.</p>
+ *
  * @param name      the name of the location
  * @param worldName the name of the world where the location is situated
  * @param x         the x-coordinate of the location
  * @param y         the y-coordinate of the location
  * @param z         the z-coordinate of the location
+ * @param yaw       the yaw rotation of the location
+ * @param pitch     the pitch rotation of the location
  * @see Location
  */
-public record LocationNode(@NotNull String name, @NotNull String worldName, double x, double y, double z)
+public record LocationNode(@NotNull String name, @NotNull String worldName, double x, double y, double z, float yaw, float pitch)
 {
+    /**
+     * Constructs a LocationNode, interning the world name through the {@link WorldRegistry}.
+     *
+     * <p>All nodes of the same world therefore share one instance of the world name.</p>
+     */
+    public LocationNode
+    {
+        worldName = WorldRegistry.intern(worldName);
+    }
+
+    /**
+     * Constructs a LocationNode without rotation.
+     *
+     * @param name      the name of the location
+     * @param worldName the name of the world where the location is situated
+     * @param x         the x-coordinate of the location
+     * @param y         the y-coordinate of the location
+     * @param z         the z-coordinate of the location
+     */
+    public LocationNode(@NotNull String name, @NotNull String worldName, double x, double y, double z)
+    {
+        this(name, worldName, x, y, z, 0f, 0f);
+    }
+
     /**
      * Constructs a LocationNode using a home name and a Bukkit Location.
      *
      * <p>The {@code LocationNode} constructor creates a new instance using the provided home name
-     * and a Bukkit Location. It extracts the world name and coordinates from the given Location.</p>
+     * and a Bukkit Location. It extracts the world name, coordinates and rotation from the given Location.</p>
      *
      * <p>Example usage:</p>
      *
@@ -51,19 +81,35 @@ public record LocationNode(@NotNull String name, @NotNull String worldName, doub
      * </pre>
      *
      * @param name  the name of the location
-     * @param location  the Bukkit Location from which to extract world name and coordinates
+     * @param location  the Bukkit Location from which to extract world name, coordinates and rotation
      * @throws NullPointerException if either name or location is {@code null}
      * @see Location
      */
     public LocationNode(@NotNull String name, @NotNull Location location)
     {
-        this(name, location.getWorld().getName(), location.x(), location.y(), location.z());
+        this(name, location.getWorld().getName(), location.x(), location.y(), location.z(), location.getYaw(), location.getPitch());
     }
 
     @Contract(" -> new")
     public @NotNull Location toLocation()
     {
-        return new Location(Bukkit.getWorld(worldName()), x(), y(), z());
+        return toLocation(Bukkit.getWorld(worldName()));
+    }
+
+    /**
+     * Creates a Bukkit Location in the specified, already resolved world.
+     *
+     * <p>This avoids looking up the world by its name, when the caller already holds the {@link World}
+     * this node refers to, for example through the {@link WorldRegistry}.</p>
+     *
+     * @param world the resolved world of this node
+     * @return a new {@link Location} at the coordinates of this node
+     * @see WorldRegistry
+     */
+    @Contract("_ -> new")
+    public @NotNull Location toLocation(@Nullable World world)
+    {
+        return new Location(world, x(), y(), z(), yaw(), pitch());
     }
 
     @Override
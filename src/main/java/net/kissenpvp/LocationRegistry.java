@@ -0,0 +1,479 @@
+package net.kissenpvp;
+
+import net.kissenpvp.core.api.database.meta.list.MetaList;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The LocationRegistry class, indexing a persisted list of {@link LocationNode} by name.
+ *
+ * <p>The {@code LocationRegistry} keeps a name-keyed {@link Map} next to the {@link MetaList} it was created from,
+ * so lookups, existence checks, replacements and deletions no longer walk the whole list. The registry is the
+ * authoritative view of the locations, while the underlying {@link MetaList} stays the persisted copy.</p>
+ *
+ * <p>The locations are published as an immutable {@link LocationSnapshot}, which is rebuilt and swapped with a
+ * single volatile write on every mutation. Lookups, the names and the sorted list are answered from the current
+ * snapshot and may therefore be read from any thread. Mutations, flushes and the spatial and fuzzy indexes are
+ * confined to the main thread.</p>
+ *
+ * <p>Mutations are not written to the {@link MetaList} immediately. They are collected per location name and
+ * written by {@link #flush()} or {@link #flushAsync()}. Only repeated changes of the same location are merged into
+ * a single write of its latest state: the {@link MetaList} has no bulk operation, so every changed location is
+ * still written with its own {@link MetaList#replaceOrInsert} call, and only the removals of a flush share a single
+ * pass over the list. A flush happens automatically once the configured amount of pending mutations is reached, and
+ * is otherwise expected to be triggered periodically and before the registry is discarded.</p>
+ *
+ * <p>Asynchronous flushes take the pending mutations on the calling thread and write them on the executor the
+ * registry was created with. Writes are chained, so they reach the {@link MetaList} in the order they were
+ * flushed, and the {@link MetaList} is never accessed by two writes at once. The mutations of a failed write are
+ * kept and merged into the next write, where newer mutations of the same location win, so a failing database
+ * delays the mutations instead of losing them.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * LocationRegistry registry = new LocationRegistry(metaList, 64);
+ * registry.put(new LocationNode("spawn", player.getLocation()));
+ * LocationNode spawn = registry.get("spawn");
+ * registry.flush();
+ * }
+ * </pre>
+ *
+ * @see LocationNode
+ * @see MetaList
+ */
+public class LocationRegistry {
+
+    private static final int MAX_CACHED_PAGES = 32;
+    private static final int MAX_SUGGESTION_DISTANCE = 3;
+
+    private final MetaList<LocationNode> storage;
+    private final Map<PageKey, Component> pages;
+    private final SpatialIndex spatialIndex;
+    private final FuzzyIndex fuzzyIndex;
+    private final Map<String, LocationNode> pending;
+    private final int flushThreshold;
+    private final Executor writer;
+    private final IntConsumer writeListener;
+    private final Consumer<Throwable> failureListener;
+    private volatile LocationSnapshot snapshot;
+    private volatile Map<String, LocationNode> unwritten;
+    private CompletableFuture<Integer> writes;
+
+    /**
+     * Constructs a LocationRegistry backed by the specified {@link MetaList}.
+     *
+     * <p>The registry indexes every entry currently stored in the list. The list must not be modified
+     * through other means afterwards, as the index would no longer reflect its content.</p>
+     *
+     * @param storage        the persisted {@link MetaList} to index and write to
+     * @param flushThreshold the amount of pending mutations after which they are written immediately
+     * @throws NullPointerException if the storage is {@code null}
+     */
+    public LocationRegistry(@NotNull MetaList<LocationNode> storage, int flushThreshold) {
+        this(storage, flushThreshold, Runnable::run, written -> {}, throwable -> {});
+    }
+
+    /**
+     * Constructs a LocationRegistry backed by the specified {@link MetaList}, writing to it on the given executor.
+     *
+     * <p>The registry indexes every entry currently stored in the list. The list must not be modified
+     * through other means afterwards, as the index would no longer reflect its content.</p>
+     *
+     * @param storage        the persisted {@link MetaList} to index and write to
+     * @param flushThreshold the amount of pending mutations after which they are written immediately
+     * @param writer         the {@link Executor} running the asynchronous writes to the storage
+     * @param writeListener   the {@link IntConsumer} notified with the amount of locations of every write
+     * @param failureListener the {@link Consumer} notified when a flush triggered by the flush threshold fails
+     * @throws NullPointerException if the storage, writer or any listener is {@code null}
+     * @see #flushAsync()
+     */
+    public LocationRegistry(@NotNull MetaList<LocationNode> storage, int flushThreshold, @NotNull Executor writer, @NotNull IntConsumer writeListener, @NotNull Consumer<Throwable> failureListener) {
+        this.storage = storage;
+        this.snapshot = LocationSnapshot.of(storage);
+        this.spatialIndex = new SpatialIndex();
+        this.fuzzyIndex = new FuzzyIndex();
+        for (LocationNode node : snapshot.sorted()) {
+            spatialIndex.add(node);
+            fuzzyIndex.add(node.name());
+        }
+        this.pages = new HashMap<>();
+        this.pending = new LinkedHashMap<>();
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.writer = writer;
+        this.writeListener = writeListener;
+        this.failureListener = failureListener;
+        this.unwritten = Map.of();
+        this.writes = CompletableFuture.completedFuture(0);
+    }
+
+    /**
+     * Retrieves the location registered under the specified name.
+     *
+     * @param name the name of the location
+     * @return the {@link LocationNode} with the given name, or {@code null} if there is none
+     */
+    public @Nullable LocationNode get(@NotNull String name) {
+        return snapshot.get(name);
+    }
+
+    /**
+     * Checks whether a location with the specified name is registered.
+     *
+     * @param name the name of the location
+     * @return true if a location with the given name exists, false otherwise
+     */
+    public boolean contains(@NotNull String name) {
+        return snapshot.contains(name);
+    }
+
+    /**
+     * Registers the specified location, replacing any location with the same name.
+     *
+     * <p>The change is visible immediately and written to the underlying {@link MetaList} with the next flush.</p>
+     *
+     * @param node the {@link LocationNode} to register
+     * @return true if an existing location was replaced, false if the location was newly added
+     * @throws NullPointerException if the node is {@code null}
+     */
+    public boolean put(@NotNull LocationNode node) {
+        LocationSnapshot current = snapshot;
+        LocationNode previous = current.get(node.name());
+        snapshot = current.with(node);
+        index(previous, node);
+        schedule(node.name(), node);
+        return previous != null;
+    }
+
+    /**
+     * Registers all specified locations, replacing any locations with the same names.
+     *
+     * <p>Unlike calling {@link #put(LocationNode)} for every location, the snapshot of the registry is only
+     * rebuilt and published once, so this method is meant for adding many locations at once.</p>
+     *
+     * @param nodes the locations to register
+     * @return the amount of locations which were newly added
+     * @throws NullPointerException if the collection or any of its elements is {@code null}
+     */
+    public int putAll(@NotNull Collection<LocationNode> nodes) {
+        LocationSnapshot current = snapshot;
+        snapshot = current.with(nodes);
+
+        Map<String, LocationNode> batch = new HashMap<>();
+        int added = 0;
+        for (LocationNode node : nodes) {
+            LocationNode previous = batch.containsKey(node.name()) ? batch.get(node.name()) : current.get(node.name());
+            if (previous == null) {
+                added++;
+            }
+            batch.put(node.name(), node);
+            index(previous, node);
+            schedule(node.name(), node);
+        }
+        return added;
+    }
+
+    /**
+     * Registers those of the specified locations whose names are not registered yet.
+     *
+     * <p>Existing locations are kept, so this method is meant for restoring or importing locations without
+     * overwriting changes made in the meantime. Like {@link #putAll(Collection)}, the snapshot is only published
+     * once.</p>
+     *
+     * @param nodes the locations to register
+     * @return the amount of locations which were added
+     * @throws NullPointerException if the collection or any of its elements is {@code null}
+     */
+    public int putAllAbsent(@NotNull Collection<LocationNode> nodes) {
+        LocationSnapshot current = snapshot;
+        return putAll(nodes.stream().filter(node -> !current.contains(node.name())).toList());
+    }
+
+    /**
+     * Removes the location registered under the specified name.
+     *
+     * <p>The change is visible immediately and written to the underlying {@link MetaList} with the next flush.
+     * Nothing is written when no location with the given name is registered.</p>
+     *
+     * @param name the name of the location to remove
+     * @return true if a location was removed, false if there was no location with the given name
+     */
+    public boolean remove(@NotNull String name) {
+        LocationSnapshot current = snapshot;
+        LocationNode previous = current.get(name);
+        if (previous == null) {
+            return false;
+        }
+        snapshot = current.without(name);
+        spatialIndex.remove(previous);
+        fuzzyIndex.remove(name);
+        pages.clear();
+        schedule(name, null);
+        return true;
+    }
+
+    /**
+     * Writes all pending mutations to the underlying {@link MetaList}.
+     *
+     * <p>Every location changed since the last flush is written once with its latest state, each with its own
+     * {@link MetaList#replaceOrInsert} call. All removals of the flush are applied within a single pass over the list. Asynchronous writes still in progress are waited
+     * for first, so this method can be used to persist everything before the registry is discarded. Mutations of
+     * earlier writes which failed are written again.</p>
+     *
+     * @return the amount of locations written
+     */
+    public int flush() {
+        writes.exceptionally(throwable -> 0).join();
+        if (pending.isEmpty() && unwritten.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, LocationNode> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        return write(batch);
+    }
+
+    /**
+     * Writes all pending mutations to the underlying {@link MetaList} on the executor of this registry.
+     *
+     * <p>The pending mutations are taken immediately, so mutations made afterwards belong to the next flush.
+     * The write itself runs after all previously flushed writes have finished. If it fails, its mutations are
+     * written again with the next flush.</p>
+     *
+     * @return a {@link CompletableFuture} completing with the amount of locations written
+     */
+    public @NotNull CompletableFuture<Integer> flushAsync() {
+        if (pending.isEmpty() && unwritten.isEmpty()) {
+            return writes.handle((written, throwable) -> 0);
+        }
+
+        Map<String, LocationNode> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        CompletableFuture<Integer> write = writes.exceptionally(throwable -> 0).thenApplyAsync(previous -> write(batch), writer);
+        writes = write;
+        return write;
+    }
+
+    /**
+     * Retrieves the amount of mutations which have not been written yet.
+     *
+     * <p>This includes the mutations of failed writes, which are written again with the next flush.</p>
+     *
+     * @return the amount of pending mutations
+     */
+    public int getPendingCount() {
+        return pending.size() + unwritten.size();
+    }
+
+    /**
+     * Retrieves the names of all registered locations as an immutable snapshot.
+     *
+     * <p>The snapshot is only replaced when a location is added or removed, so repeated calls return the same
+     * instance as long as the registered names do not change. It additionally supports prefix queries through
+     * {@link NameIndex#startingWith(String)} and {@link NameIndex#startingWithIgnoreCase(String)}. This method may be called from any thread.</p>
+     *
+     * @return the {@link NameIndex} of the registered location names
+     */
+    public @NotNull NameIndex getNames() {
+        return snapshot.getNames();
+    }
+
+    /**
+     * Retrieves the current immutable snapshot of the registered locations.
+     *
+     * <p>The snapshot is replaced with every mutation, and never changes once it was returned. It is the
+     * intended way to read the registry from threads other than the main thread.</p>
+     *
+     * @return the current {@link LocationSnapshot}
+     */
+    public @NotNull LocationSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Retrieves the spatial index over the registered locations.
+     *
+     * <p>The index is kept up to date with every mutation of the registry and answers radius and
+     * nearest-neighbour queries without inspecting every location.</p>
+     *
+     * @return the {@link SpatialIndex} of the registered locations
+     */
+    public @NotNull SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Suggests the registered names closest to the specified, possibly misspelled, name.
+     *
+     * <p>The suggestions are answered by a {@link FuzzyIndex}, which only compares the query against a small part
+     * of the registered names. The allowed edit distance grows with the length of the query, from one edit for
+     * short names up to {@value #MAX_SUGGESTION_DISTANCE} edits.</p>
+     *
+     * @param name  the name which was not found
+     * @param limit the maximum amount of suggestions
+     * @return an unmodifiable {@link List} of the closest names, the closest first
+     */
+    public @NotNull @Unmodifiable List<String> suggest(@NotNull String name, int limit) {
+        int distance = Math.clamp(name.length() / 3, 1, MAX_SUGGESTION_DISTANCE);
+        return fuzzyIndex.search(name, distance, limit);
+    }
+
+    /**
+     * Searches the registered names matching the specified text.
+     *
+     * <p>Names starting with the text in any case are listed first, followed by the names suggested by
+     * {@link #suggest(String, int)}.</p>
+     *
+     * @param text  the text to search for
+     * @param limit the maximum amount of results
+     * @return an unmodifiable {@link List} of the matching locations
+     */
+    public @NotNull @Unmodifiable List<LocationNode> search(@NotNull String text, int limit) {
+        LocationSnapshot current = snapshot;
+        Set<String> matches = new LinkedHashSet<>();
+        for (String name : current.getNames().startingWithIgnoreCase(text)) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            matches.add(name);
+        }
+        if (matches.size() < limit) {
+            matches.addAll(suggest(text, limit - matches.size()));
+        }
+        return matches.stream().limit(limit).map(current::get).toList();
+    }
+
+    /**
+     * Retrieves a rendered page of this registry, rendering it only if it is not cached yet.
+     *
+     * <p>Rendered pages are kept until the next mutation of the registry, so listing the same page with the
+     * same label repeatedly does not rebuild its {@link Component}. The cache is bounded and cleared entirely
+     * once the bound is exceeded.</p>
+     *
+     * @param label    the command label the page entries refer to
+     * @param page     the page number
+     * @param renderer the {@link Supplier} rendering the page if it is not cached
+     * @return the rendered page {@link Component}
+     * @throws NullPointerException if the label or renderer is {@code null}
+     */
+    public @NotNull Component getPage(@NotNull String label, int page, @NotNull Supplier<Component> renderer) {
+        PageKey key = new PageKey(label, page);
+        Component component = pages.get(key);
+        if (component == null) {
+            if (pages.size() >= MAX_CACHED_PAGES) {
+                pages.clear();
+            }
+            component = renderer.get();
+            pages.put(key, component);
+        }
+        return component;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public boolean isEmpty() {
+        return snapshot.isEmpty();
+    }
+
+    /**
+     * Retrieves the registered locations sorted by name.
+     *
+     * <p>The list belongs to the current {@link LocationSnapshot} and is built once per mutation, so reading a
+     * page of a large registry does not copy it. This method may be called from any thread.</p>
+     *
+     * @return an unmodifiable, name-sorted {@link List} of the registered {@link LocationNode} objects
+     * @see LocationSnapshot#sorted()
+     */
+    public @NotNull @Unmodifiable List<LocationNode> sorted() {
+        return snapshot.sorted();
+    }
+
+    private void index(@Nullable LocationNode previous, @NotNull LocationNode node) {
+        pages.clear();
+        if (previous != null) {
+            spatialIndex.remove(previous);
+        } else {
+            fuzzyIndex.add(node.name());
+        }
+        spatialIndex.add(node);
+    }
+
+    /**
+     * Records a mutation to be written with the next flush, replacing any earlier mutation of the same location.
+     *
+     * @param name the name of the changed location
+     * @param node the new state of the location, or {@code null} if it was removed
+     */
+    private void schedule(@NotNull String name, @Nullable LocationNode node) {
+        pending.remove(name);
+        pending.put(name, node);
+        if (pending.size() >= flushThreshold) {
+            flushAsync().whenComplete((written, throwable) -> {
+                if (throwable != null) {
+                    failureListener.accept(throwable);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the specified mutations together with those of earlier failed writes.
+     *
+     * <p>Writes never overlap, as they are either chained or preceded by waiting for the chain. The mutations of a
+     * failed write are therefore only ever merged into the next write, where the mutations of the batch replace
+     * older ones of the same location. Writing a mutation twice is harmless, so a partially applied write is
+     * simply repeated as a whole.</p>
+     */
+    private int write(@NotNull Map<String, LocationNode> batch) {
+        Map<String, LocationNode> mutations = new LinkedHashMap<>(unwritten);
+        for (Map.Entry<String, LocationNode> mutation : batch.entrySet()) {
+            mutations.remove(mutation.getKey());
+            mutations.put(mutation.getKey(), mutation.getValue());
+        }
+        if (mutations.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Set<String> removed = new HashSet<>();
+            for (Map.Entry<String, LocationNode> mutation : mutations.entrySet()) {
+                if (mutation.getValue() == null) {
+                    removed.add(mutation.getKey());
+                    continue;
+                }
+                storage.replaceOrInsert(mutation.getValue());
+            }
+
+            if (!removed.isEmpty()) {
+                storage.removeIf(node -> removed.contains(node.name()));
+            }
+        } catch (RuntimeException exception) {
+            unwritten = mutations;
+            throw exception;
+        }
+        unwritten = Map.of();
+        writeListener.accept(mutations.size());
+        return mutations.size();
+    }
+
+    private record PageKey(@NotNull String label, int page) {}
+}
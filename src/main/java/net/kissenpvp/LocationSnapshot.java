@@ -0,0 +1,162 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The LocationSnapshot class, an immutable view of the locations of a {@link LocationRegistry} at one point in time.
+ *
+ * <p>A snapshot consists of a name-keyed {@link Map}, the sorted {@link NameIndex} of the names and the locations
+ * in the order of their names. None of them is modified after the snapshot was created. Mutations build a new
+ * snapshot, which the registry publishes through a single volatile write. Any thread can therefore read a
+ * snapshot without locking and without risking a {@link java.util.ConcurrentModificationException}, and always
+ * sees a consistent state of all three structures.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * LocationSnapshot snapshot = registry.snapshot();
+ * LocationNode spawn = snapshot.get("spawn");
+ * List<LocationNode> firstPage = snapshot.sorted().subList(0, Math.min(10, snapshot.size()));
+ * }
+ * </pre>
+ *
+ * @see LocationRegistry#snapshot()
+ */
+public final class LocationSnapshot {
+
+    private static final LocationSnapshot EMPTY = new LocationSnapshot(Map.of(), NameIndex.empty());
+
+    private final Map<String, LocationNode> locations;
+    private final NameIndex names;
+    private final List<LocationNode> sorted;
+
+    private LocationSnapshot(@NotNull Map<String, LocationNode> locations, @NotNull NameIndex names) {
+        this.locations = locations;
+        this.names = names;
+
+        LocationNode[] ordered = new LocationNode[names.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = locations.get(names.get(i));
+        }
+        this.sorted = List.of(ordered);
+    }
+
+    /**
+     * Returns an empty LocationSnapshot.
+     *
+     * @return the empty {@link LocationSnapshot}
+     */
+    public static @NotNull LocationSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a LocationSnapshot containing the specified locations.
+     *
+     * @param nodes the locations, later locations replace earlier ones with the same name
+     * @return a {@link LocationSnapshot} of the given locations
+     */
+    public static @NotNull LocationSnapshot of(@NotNull Collection<LocationNode> nodes) {
+        return EMPTY.with(nodes);
+    }
+
+    /**
+     * Returns a snapshot containing the locations of this snapshot and the specified location.
+     *
+     * @param node the location to add or replace
+     * @return a new {@link LocationSnapshot}
+     */
+    @Contract(pure = true)
+    public @NotNull LocationSnapshot with(@NotNull LocationNode node) {
+        return with(List.of(node));
+    }
+
+    /**
+     * Returns a snapshot containing the locations of this snapshot and the specified locations.
+     *
+     * <p>The snapshot is built once for all locations, so adding many locations at once copies the snapshot a
+     * single time instead of once per location.</p>
+     *
+     * @param nodes the locations to add or replace
+     * @return a new {@link LocationSnapshot}, or this snapshot if the collection is empty
+     */
+    @Contract(pure = true)
+    public @NotNull LocationSnapshot with(@NotNull Collection<LocationNode> nodes) {
+        if (nodes.isEmpty()) {
+            return this;
+        }
+
+        Map<String, LocationNode> copy = new HashMap<>(locations);
+        String added = null;
+        int additions = 0;
+        for (LocationNode node : nodes) {
+            if (copy.put(node.name(), node) == null) {
+                added = node.name();
+                additions++;
+            }
+        }
+
+        NameIndex updated = switch (additions) {
+            case 0 -> names;
+            case 1 -> names.with(added);
+            default -> NameIndex.of(copy.keySet());
+        };
+        return new LocationSnapshot(Collections.unmodifiableMap(copy), updated);
+    }
+
+    /**
+     * Returns a snapshot containing the locations of this snapshot except the one with the specified name.
+     *
+     * @param name the name of the location to remove
+     * @return a new {@link LocationSnapshot}, or this snapshot if no location has the given name
+     */
+    @Contract(pure = true)
+    public @NotNull LocationSnapshot without(@NotNull String name) {
+        if (!locations.containsKey(name)) {
+            return this;
+        }
+
+        Map<String, LocationNode> copy = new HashMap<>(locations);
+        copy.remove(name);
+        return new LocationSnapshot(Collections.unmodifiableMap(copy), names.without(name));
+    }
+
+    public @Nullable LocationNode get(@NotNull String name) {
+        return locations.get(name);
+    }
+
+    public boolean contains(@NotNull String name) {
+        return locations.containsKey(name);
+    }
+
+    public @NotNull NameIndex getNames() {
+        return names;
+    }
+
+    /**
+     * Retrieves the locations of this snapshot in the order of their names.
+     *
+     * @return an unmodifiable, name-sorted {@link List} of the {@link LocationNode} objects
+     */
+    public @NotNull @Unmodifiable List<LocationNode> sorted() {
+        return sorted;
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public boolean isEmpty() {
+        return locations.isEmpty();
+    }
+}
@@ -0,0 +1,258 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * The NameIndex class, an immutable sorted set of location names supporting prefix queries.
+ *
+ * <p>The {@code NameIndex} stores names in a sorted array, which acts as a flattened prefix trie: all names
+ * sharing a prefix form one contiguous range that is found with two binary searches. Adding or removing a
+ * name returns a new index and leaves the original untouched, so a published index can be handed out to
+ * tab completers without copying it on every request.</p>
+ *
+ * <p>For case-insensitive prefix queries, the index additionally keeps the names ordered by their lower-cased
+ * form next to an array of the lower-cased forms, which are searched the same way.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * NameIndex index = NameIndex.of(List.of("spawn", "shop", "arena"));
+ * List<String> matches = index.startingWith("s"); // [shop, spawn]
+ * List<String> folded = index.startingWithIgnoreCase("S"); // [shop, spawn]
+ * }
+ * </pre>
+ *
+ * @see LocationRegistry
+ */
+public final class NameIndex extends AbstractSet<String> {
+
+    private static final Comparator<String> IGNORE_CASE_ORDER = Comparator.comparing(NameIndex::fold).thenComparing(Comparator.naturalOrder());
+    private static final NameIndex EMPTY = new NameIndex(new String[0], new String[0], new String[0]);
+
+    private final String[] names;
+    private final String[] folded;
+    private final String[] keys;
+
+    private NameIndex(@NotNull String[] names, @NotNull String[] folded, @NotNull String[] keys) {
+        this.names = names;
+        this.folded = folded;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns an empty NameIndex.
+     *
+     * @return the empty {@link NameIndex}
+     */
+    public static @NotNull NameIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a NameIndex containing the specified names.
+     *
+     * @param names the names to index, duplicates are removed
+     * @return a {@link NameIndex} containing the given names
+     * @throws NullPointerException if the collection or any of its elements is {@code null}
+     */
+    public static @NotNull NameIndex of(@NotNull Collection<String> names) {
+        String[] sorted = names.toArray(String[]::new);
+        Arrays.sort(sorted);
+
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || !sorted[size - 1].equals(sorted[i])) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        String[] unique = Arrays.copyOf(sorted, size);
+        String[] folded = unique.clone();
+        Arrays.sort(folded, IGNORE_CASE_ORDER);
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = fold(folded[i]);
+        }
+        return new NameIndex(unique, folded, keys);
+    }
+
+    /**
+     * Returns an index containing the names of this index and the specified name.
+     *
+     * @param name the name to add
+     * @return this index if the name is already present, otherwise a new {@link NameIndex}
+     */
+    @Contract(pure = true)
+    public @NotNull NameIndex with(@NotNull String name) {
+        int position = Arrays.binarySearch(names, name);
+        if (position >= 0) {
+            return this;
+        }
+
+        int foldedPosition = -Arrays.binarySearch(folded, name, IGNORE_CASE_ORDER) - 1;
+        return new NameIndex(insert(names, -position - 1, name), insert(folded, foldedPosition, name), insert(keys, foldedPosition, fold(name)));
+    }
+
+    /**
+     * Returns an index containing the names of this index without the specified name.
+     *
+     * @param name the name to remove
+     * @return this index if the name is not present, otherwise a new {@link NameIndex}
+     */
+    @Contract(pure = true)
+    public @NotNull NameIndex without(@NotNull String name) {
+        int position = Arrays.binarySearch(names, name);
+        if (position < 0) {
+            return this;
+        }
+        if (names.length == 1) {
+            return EMPTY;
+        }
+
+        int foldedPosition = Arrays.binarySearch(folded, name, IGNORE_CASE_ORDER);
+        return new NameIndex(remove(names, position), remove(folded, foldedPosition), remove(keys, foldedPosition));
+    }
+
+    /**
+     * Retrieves all names starting with the specified prefix in their natural order.
+     *
+     * @param prefix the prefix the names must start with
+     * @return an unmodifiable {@link List} of the matching names
+     */
+    public @NotNull @Unmodifiable List<String> startingWith(@NotNull String prefix) {
+        if (prefix.isEmpty()) {
+            return List.of(names);
+        }
+
+        int from = lowerBound(names, prefix);
+        int to = upperBound(names, prefix, from);
+        return List.of(Arrays.copyOfRange(names, from, to));
+    }
+
+    /**
+     * Retrieves all names starting with the specified prefix, ignoring the case of both.
+     *
+     * <p>The names are compared by their lower-cased form in the root locale and returned in the order of it,
+     * names differing only in case are ordered by their natural order.</p>
+     *
+     * @param prefix the prefix the names must start with, in any case
+     * @return an unmodifiable {@link List} of the matching names
+     */
+    public @NotNull @Unmodifiable List<String> startingWithIgnoreCase(@NotNull String prefix) {
+        if (prefix.isEmpty()) {
+            return List.of(folded);
+        }
+
+        String key = fold(prefix);
+        int from = lowerBound(keys, key);
+        int to = upperBound(keys, key, from);
+        return List.of(Arrays.copyOfRange(folded, from, to));
+    }
+
+    /**
+     * Retrieves the name at the specified position in the natural order.
+     *
+     * @param index the position of the name
+     * @return the name at the given position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public @NotNull String get(int index) {
+        return names[index];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String name && Arrays.binarySearch(names, name) >= 0;
+    }
+
+    @Override
+    public @NotNull Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < names.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return names[cursor++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    private static @NotNull String fold(@NotNull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static @NotNull String[] insert(@NotNull String[] array, int position, @NotNull String value) {
+        String[] copy = new String[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        copy[position] = value;
+        System.arraycopy(array, position, copy, position + 1, array.length - position);
+        return copy;
+    }
+
+    private static @NotNull String[] remove(@NotNull String[] array, int position) {
+        String[] copy = new String[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        System.arraycopy(array, position + 1, copy, position, array.length - position - 1);
+        return copy;
+    }
+
+    private static int lowerBound(@NotNull String[] names, @NotNull String prefix) {
+        int low = 0, high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (names[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the end of the range of names starting with the prefix.
+     *
+     * <p>From the lower bound on, the names starting with the prefix come first and are followed by names which
+     * sort after all of them, so the end of the range is found by a second binary search.</p>
+     */
+    private static int upperBound(@NotNull String[] names, @NotNull String prefix, int from) {
+        int low = from, high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (names[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
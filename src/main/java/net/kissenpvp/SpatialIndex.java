@@ -0,0 +1,231 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The SpatialIndex class, a per-world uniform grid over {@link LocationNode} positions.
+ *
+ * <p>The {@code SpatialIndex} sorts locations into square cells of {@value #CELL_SIZE} blocks per world, so radius
+ * and nearest-neighbour queries only inspect the cells around the queried position instead of every location.
+ * Worlds are addressed by their {@link WorldRegistry} id. When a query would have to visit more cells than the
+ * world has occupied cells, the occupied cells are scanned directly, which bounds the cost of queries in sparse
+ * worlds.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * SpatialIndex index = new SpatialIndex();
+ * index.add(spawn);
+ * List<LocationNode> nearby = index.withinRadius("world", x, y, z, 200);
+ * List<LocationNode> closest = index.nearest("world", x, y, z, 3);
+ * }
+ * </pre>
+ *
+ * @see LocationRegistry#getSpatialIndex()
+ */
+public class SpatialIndex {
+
+    private static final int CELL_SIZE = 64;
+
+    private final List<Map<Long, List<LocationNode>>> worlds;
+
+    public SpatialIndex() {
+        this.worlds = new ArrayList<>();
+    }
+
+    /**
+     * Adds the specified location to the index.
+     *
+     * @param node the {@link LocationNode} to add
+     */
+    public void add(@NotNull LocationNode node) {
+        int world = WorldRegistry.idOf(node.worldName());
+        while (worlds.size() <= world) {
+            worlds.add(null);
+        }
+
+        Map<Long, List<LocationNode>> cells = worlds.get(world);
+        if (cells == null) {
+            cells = new HashMap<>();
+            worlds.set(world, cells);
+        }
+        cells.computeIfAbsent(key(cell(node.x()), cell(node.z())), key -> new ArrayList<>(2)).add(node);
+    }
+
+    /**
+     * Removes the specified location from the index.
+     *
+     * <p>The location must be the one that was added, as its position determines the cell it is looked up in.</p>
+     *
+     * @param node the {@link LocationNode} to remove
+     */
+    public void remove(@NotNull LocationNode node) {
+        Map<Long, List<LocationNode>> cells = cells(node.worldName());
+        if (cells == null) {
+            return;
+        }
+
+        long key = key(cell(node.x()), cell(node.z()));
+        List<LocationNode> cell = cells.get(key);
+        if (cell != null && cell.remove(node) && cell.isEmpty()) {
+            cells.remove(key);
+            if (cells.isEmpty()) {
+                worlds.set(WorldRegistry.idOf(node.worldName()), null);
+            }
+        }
+    }
+
+    /**
+     * Retrieves all locations within the specified distance of a position, closest first.
+     *
+     * @param world  the name of the world
+     * @param x      the x-coordinate of the position
+     * @param y      the y-coordinate of the position
+     * @param z      the z-coordinate of the position
+     * @param radius the maximum distance in blocks
+     * @return an unmodifiable {@link List} of the locations within the radius, sorted by distance
+     */
+    public @NotNull @Unmodifiable List<LocationNode> withinRadius(@NotNull String world, double x, double y, double z, double radius) {
+        Map<Long, List<LocationNode>> cells = cells(world);
+        if (cells == null || radius < 0) {
+            return List.of();
+        }
+
+        double radiusSquared = radius * radius;
+        List<LocationNode> result = new ArrayList<>();
+        int minX = cell(x - radius), maxX = cell(x + radius);
+        int minZ = cell(z - radius), maxZ = cell(z + radius);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) {
+            cells.values().forEach(cell -> collect(cell, x, y, z, radiusSquared, result));
+        } else {
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                    List<LocationNode> cell = cells.get(key(cellX, cellZ));
+                    if (cell != null) {
+                        collect(cell, x, y, z, radiusSquared, result);
+                    }
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(node -> distanceSquared(node, x, y, z)));
+        return List.copyOf(result);
+    }
+
+    /**
+     * Retrieves the locations closest to a position, closest first.
+     *
+     * <p>The cells are visited in growing rings around the position. The search stops as soon as no cell of the
+     * next ring can contain a location closer than the farthest of the {@code limit} locations found so far.</p>
+     *
+     * @param world the name of the world
+     * @param x     the x-coordinate of the position
+     * @param y     the y-coordinate of the position
+     * @param z     the z-coordinate of the position
+     * @param limit the maximum amount of locations to return
+     * @return an unmodifiable {@link List} of at most {@code limit} locations, sorted by distance
+     */
+    public @NotNull @Unmodifiable List<LocationNode> nearest(@NotNull String world, double x, double y, double z, int limit) {
+        Map<Long, List<LocationNode>> cells = cells(world);
+        if (cells == null || limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<LocationNode> byDistance = Comparator.comparingDouble(node -> distanceSquared(node, x, y, z));
+        PriorityQueue<LocationNode> closest = new PriorityQueue<>(limit + 1, byDistance.reversed());
+
+        int centerX = cell(x), centerZ = cell(z);
+        int visited = 0;
+        for (int ring = 0; visited < cells.size(); ring++) {
+            if (ring > 0 && 8L * ring > cells.size() - visited) {
+                closest.clear();
+                cells.values().forEach(cell -> offer(cell, closest, limit));
+                break;
+            }
+
+            for (int offset = -ring; offset <= ring; offset++) {
+                visited += visit(cells, centerX + offset, centerZ - ring, closest, limit);
+                if (ring > 0) {
+                    visited += visit(cells, centerX + offset, centerZ + ring, closest, limit);
+                }
+                if (Math.abs(offset) != ring) {
+                    visited += visit(cells, centerX - ring, centerZ + offset, closest, limit);
+                    visited += visit(cells, centerX + ring, centerZ + offset, closest, limit);
+                }
+            }
+
+            double reach = (double) ring * CELL_SIZE;
+            if (closest.size() == limit && reach * reach >= distanceSquared(closest.peek(), x, y, z)) {
+                break;
+            }
+        }
+
+        List<LocationNode> result = new ArrayList<>(closest);
+        result.sort(byDistance);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Calculates the squared distance between a location and a position.
+     *
+     * @param node the {@link LocationNode}
+     * @param x    the x-coordinate of the position
+     * @param y    the y-coordinate of the position
+     * @param z    the z-coordinate of the position
+     * @return the squared euclidean distance
+     */
+    public static double distanceSquared(@NotNull LocationNode node, double x, double y, double z) {
+        double dx = node.x() - x, dy = node.y() - y, dz = node.z() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static void collect(@NotNull List<LocationNode> cell, double x, double y, double z, double radiusSquared, @NotNull Collection<LocationNode> result) {
+        for (LocationNode node : cell) {
+            if (distanceSquared(node, x, y, z) <= radiusSquared) {
+                result.add(node);
+            }
+        }
+    }
+
+    private @Nullable Map<Long, List<LocationNode>> cells(@NotNull String world) {
+        int id = WorldRegistry.idOf(world);
+        return id < worlds.size() ? worlds.get(id) : null;
+    }
+
+    private static int visit(@NotNull Map<Long, List<LocationNode>> cells, int cellX, int cellZ, @NotNull PriorityQueue<LocationNode> closest, int limit) {
+        List<LocationNode> cell = cells.get(key(cellX, cellZ));
+        if (cell == null) {
+            return 0;
+        }
+        offer(cell, closest, limit);
+        return 1;
+    }
+
+    private static void offer(@NotNull List<LocationNode> cell, @NotNull PriorityQueue<LocationNode> closest, int limit) {
+        for (LocationNode node : cell) {
+            closest.add(node);
+            if (closest.size() > limit) {
+                closest.poll();
+            }
+        }
+    }
+
+    private static int cell(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,203 @@
+package net.kissenpvp;
+
+import net.kissenpvp.core.api.command.exception.OperationException;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The TeleportGuard class, enforcing cooldowns and warmups of warp and home teleports.
+ *
+ * <p>The {@code TeleportGuard} remembers when a player may teleport again per {@link Type} and delays teleports
+ * by the configured warmup. A pending warmup is cancelled when the player moves to another block, takes damage
+ * or quits. Warmups are scheduled on a shared {@link TimerWheel}, so pending warmups do not need a scheduler
+ * task each, and cooldowns are plain deadlines compared against the tick of the wheel. Players with the
+ * {@value #BYPASS_PERMISSION} permission are neither delayed nor limited.</p>
+ *
+ * <p>The guard is driven by the main thread only, like the {@link TimerWheel} it schedules on.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * TeleportGuard guard = new TeleportGuard(wheel, cooldowns, warmups);
+ * guard.request(player, TeleportGuard.Type.HOME, () -> plugin.teleport(message, home, player));
+ * }
+ * </pre>
+ *
+ * @see TimerWheel
+ * @see Warp#searchLocation(Player, String, Component, LocationRegistry, Type)
+ */
+public class TeleportGuard implements Listener {
+
+    public static final String BYPASS_PERMISSION = "kissen.command.teleport.bypass";
+    private static final int TICKS_PER_SECOND = 20;
+
+    private final TimerWheel wheel;
+    private final Map<Type, Integer> cooldowns;
+    private final Map<Type, Integer> warmups;
+    private final Map<UUID, Map<Type, Long>> readyAt;
+    private final Map<UUID, TimerWheel.Timeout> pending;
+
+    /**
+     * Constructs a TeleportGuard scheduling its warmups on the specified wheel.
+     *
+     * @param wheel     the {@link TimerWheel} driving the warmups and providing the current tick
+     * @param cooldowns the cooldown in seconds per {@link Type}, missing types have no cooldown
+     * @param warmups   the warmup in seconds per {@link Type}, missing types have no warmup
+     */
+    public TeleportGuard(@NotNull TimerWheel wheel, @NotNull Map<Type, Integer> cooldowns, @NotNull Map<Type, Integer> warmups) {
+        this.wheel = wheel;
+        this.cooldowns = new EnumMap<>(Type.class);
+        this.cooldowns.putAll(cooldowns);
+        this.warmups = new EnumMap<>(Type.class);
+        this.warmups.putAll(warmups);
+        this.readyAt = new HashMap<>();
+        this.pending = new HashMap<>();
+    }
+
+    /**
+     * Requests a teleport of the specified player, running it now or after the warmup.
+     *
+     * <p>A pending warmup of the player is replaced by the new request. The cooldown of the type starts once the
+     * teleport is executed.</p>
+     *
+     * @param player   the {@link Player} to teleport
+     * @param type     the {@link Type} of the teleport
+     * @param teleport the task executing the teleport
+     * @throws OperationException if the player is still on cooldown
+     */
+    public void request(@NotNull Player player, @NotNull Type type, @NotNull Runnable teleport) {
+        UUID uuid = player.getUniqueId();
+        if (player.hasPermission(BYPASS_PERMISSION)) {
+            teleport.run();
+            return;
+        }
+
+        long remaining = getRemainingCooldown(uuid, type);
+        if (remaining > 0) {
+            long seconds = (remaining + TICKS_PER_SECOND - 1) / TICKS_PER_SECOND;
+            throw new OperationException(Component.translatable("server.teleport.cooldown", Component.text(seconds)));
+        }
+
+        cancel(uuid);
+        int warmup = warmups.getOrDefault(type, 0);
+        if (warmup <= 0) {
+            teleport.run();
+            startCooldown(uuid, type);
+            return;
+        }
+
+        pending.put(uuid, wheel.schedule((long) warmup * TICKS_PER_SECOND, () -> {
+            pending.remove(uuid);
+            if (player.isOnline()) {
+                complete(player, type, teleport);
+            }
+        }));
+        player.sendMessage(Component.translatable("server.teleport.warmup", Component.text(warmup)));
+    }
+
+    /**
+     * Retrieves the remaining cooldown of the specified player and type.
+     *
+     * @param uuid the {@link UUID} of the player
+     * @param type the {@link Type} of the teleport
+     * @return the remaining cooldown in ticks, or 0 if the player may teleport
+     */
+    public long getRemainingCooldown(@NotNull UUID uuid, @NotNull Type type) {
+        Map<Type, Long> deadlines = readyAt.get(uuid);
+        if (deadlines == null) {
+            return 0;
+        }
+        return Math.max(0, deadlines.getOrDefault(type, 0L) - wheel.getTick());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(@NotNull PlayerMoveEvent event) {
+        if (!pending.isEmpty() && event.hasChangedBlock() && cancel(event.getPlayer().getUniqueId())) {
+            event.getPlayer().sendMessage(Component.translatable("server.teleport.warmup.cancelled"));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDamage(@NotNull EntityDamageEvent event) {
+        if (!pending.isEmpty() && event.getEntity() instanceof Player player && cancel(player.getUniqueId())) {
+            player.sendMessage(Component.translatable("server.teleport.warmup.cancelled"));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        cancel(uuid);
+
+        Map<Type, Long> deadlines = readyAt.get(uuid);
+        if (deadlines != null) {
+            deadlines.values().removeIf(deadline -> deadline <= wheel.getTick());
+            if (deadlines.isEmpty()) {
+                readyAt.remove(uuid);
+                return;
+            }
+
+            long expiry = Collections.max(deadlines.values()) - wheel.getTick();
+            wheel.schedule(expiry, () -> {
+                if (Bukkit.getPlayer(uuid) == null) {
+                    readyAt.remove(uuid);
+                }
+            });
+        }
+    }
+
+    private boolean cancel(@NotNull UUID uuid) {
+        TimerWheel.Timeout timeout = pending.remove(uuid);
+        return timeout != null && timeout.cancel();
+    }
+
+    /**
+     * Executes a teleport whose warmup finished.
+     *
+     * <p>The teleport no longer runs within the command, so a rejection cannot be reported by the command framework
+     * and is replaced by a generic message.</p>
+     */
+    private void complete(@NotNull Player player, @NotNull Type type, @NotNull Runnable teleport) {
+        try {
+            teleport.run();
+        } catch (OperationException exception) {
+            player.sendMessage(Component.translatable("server.teleport.failed"));
+            return;
+        }
+        startCooldown(player.getUniqueId(), type);
+    }
+
+    private void startCooldown(@NotNull UUID uuid, @NotNull Type type) {
+        int cooldown = cooldowns.getOrDefault(type, 0);
+        if (cooldown > 0) {
+            readyAt.computeIfAbsent(uuid, key -> new EnumMap<>(Type.class)).put(type, wheel.getTick() + (long) cooldown * TICKS_PER_SECOND);
+        }
+    }
+
+    /**
+     * The kinds of teleports with their own cooldown and warmup.
+     */
+    public enum Type {
+        WARP,
+        HOME
+    }
+}
@@ -0,0 +1,208 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TimerWheel class, a hashed timer wheel running delayed tasks with a single scheduler task.
+ *
+ * <p>The {@code TimerWheel} keeps its timeouts in a fixed amount of slots, each holding a doubly linked list of
+ * the timeouts due at a tick with the same remainder. Every call of {@link #run()} advances the wheel by one tick
+ * and only inspects the timeouts of the current slot, so scheduling and cancelling a timeout is constant time and
+ * thousands of pending timeouts cost no more than a single scheduler task. Timeouts further away than the amount
+ * of slots stay in their slot for additional rotations.</p>
+ *
+ * <p>The wheel is not thread-safe. It is meant to be driven by a repeating task on the main thread, and timeouts
+ * must only be scheduled and cancelled from that thread.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * TimerWheel wheel = new TimerWheel(512);
+ * Bukkit.getScheduler().runTaskTimer(plugin, wheel, 1L, 1L);
+ * TimerWheel.Timeout timeout = wheel.schedule(100, () -> player.sendMessage(message));
+ * timeout.cancel();
+ * }
+ * </pre>
+ */
+public class TimerWheel implements Runnable {
+
+    private final Timeout[] slots;
+    private final int mask;
+    private final List<Timeout> expired;
+    private long tick;
+    private int size;
+
+    /**
+     * Constructs a TimerWheel with at least the specified amount of slots.
+     *
+     * @param slots the minimum amount of slots, rounded up to the next power of two
+     * @throws IllegalArgumentException if the amount of slots is not positive
+     */
+    public TimerWheel(int slots) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("The amount of slots must be positive.");
+        }
+        int capacity = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.slots = new Timeout[capacity];
+        this.mask = capacity - 1;
+        this.expired = new ArrayList<>();
+    }
+
+    /**
+     * Schedules the specified task to run after the given amount of ticks.
+     *
+     * @param delay the delay in ticks, at least one tick is waited
+     * @param task  the task to run
+     * @return the {@link Timeout} which can be used to cancel the task
+     * @throws NullPointerException if the task is {@code null}
+     */
+    public @NotNull Timeout schedule(long delay, @NotNull Runnable task) {
+        Timeout timeout = new Timeout(tick + Math.max(1, delay), task);
+        link(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every timeout which became due.
+     *
+     * <p>A failing task does not prevent the other due tasks from running. The first failure is rethrown once all
+     * due tasks have run.</p>
+     */
+    @Override
+    public void run() {
+        tick++;
+        int index = (int) (tick & mask);
+        for (Timeout timeout = slots[index]; timeout != null; timeout = timeout.next) {
+            if (timeout.deadline <= tick) {
+                expired.add(timeout);
+            }
+        }
+
+        for (Timeout timeout : expired) {
+            unlink(timeout);
+        }
+
+        RuntimeException failure = null;
+        for (Timeout timeout : expired) {
+            if (timeout.cancelled) {
+                continue;
+            }
+
+            timeout.done = true;
+            try {
+                timeout.task.run();
+            } catch (RuntimeException exception) {
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        expired.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Retrieves the amount of ticks this wheel was advanced by.
+     *
+     * @return the current tick of the wheel
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Retrieves the amount of pending timeouts.
+     *
+     * @return the amount of scheduled timeouts which neither ran nor were cancelled
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(@NotNull Timeout timeout) {
+        int index = (int) (timeout.deadline & mask);
+        Timeout head = slots[index];
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        slots[index] = timeout;
+        timeout.linked = true;
+        size++;
+    }
+
+    private void unlink(@NotNull Timeout timeout) {
+        if (!timeout.linked) {
+            return;
+        }
+
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            slots[(int) (timeout.deadline & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    /**
+     * A task scheduled on a {@link TimerWheel}.
+     */
+    public final class Timeout {
+
+        private final long deadline;
+        private final Runnable task;
+        private @Nullable Timeout previous;
+        private @Nullable Timeout next;
+        private boolean linked;
+        private boolean cancelled;
+        private boolean done;
+
+        private Timeout(long deadline, @NotNull Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels this timeout, so its task is not run.
+         *
+         * @return true if the timeout was pending and is now cancelled, false if it already ran or was cancelled
+         */
+        public boolean cancel() {
+            if (cancelled || done) {
+                return false;
+            }
+            cancelled = true;
+            unlink(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Retrieves the amount of ticks until this timeout is due.
+         *
+         * @return the remaining ticks, or 0 if the timeout is due or no longer pending
+         */
+        public long getRemaining() {
+            return cancelled || done ? 0 : Math.max(0, deadline - tick);
+        }
+    }
+}
@@ -6,38 +6,55 @@ import net.kissenpvp.commands.home.ListHome;
 import net.kissenpvp.commands.home.SetHome;
 import net.kissenpvp.commands.warp.DeleteWarp;
 import net.kissenpvp.commands.warp.ListWarp;
+import net.kissenpvp.commands.warp.NearestWarp;
+import net.kissenpvp.commands.warp.SearchWarp;
 import net.kissenpvp.commands.warp.SetWarp;
+import net.kissenpvp.commands.warp.WarpBackup;
 import net.kissenpvp.commands.warp.WarpCommand;
+import net.kissenpvp.commands.warp.WarpImport;
+import net.kissenpvp.commands.warp.WarpStats;
 import net.kissenpvp.core.api.command.exception.OperationException;
 import net.kissenpvp.core.api.database.connection.DatabaseConnection;
 import net.kissenpvp.core.api.database.connection.DatabaseImplementation;
 import net.kissenpvp.core.api.database.meta.Table;
-import net.kissenpvp.core.api.database.meta.list.MetaList;
 import net.kissenpvp.core.api.database.savable.SavableMap;
 import net.kissenpvp.core.api.util.PageBuilder;
 import net.kissenpvp.pulvinar.api.base.Context;
+import net.kissenpvp.storage.StagedHomes;
 import net.kissenpvp.visual.api.theme.ThemeProvider;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.TranslatableComponent;
-import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.util.ComponentMessageThrowable;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.File;
 import java.text.MessageFormat;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.stream.Stream;
 
 /**
@@ -50,35 +67,188 @@ import java.util.stream.Stream;
  */
 public class Warp extends JavaPlugin {
 
-    private static final String COMMAND_TEMPLATE;
-    private static final TranslatableComponent LIST_ENTRY;
-    private static final TranslatableComponent TELEPORT_COMPONENT;
+    private static final TranslatableComponent NEARBY_ENTRY;
+    private static final PotionEffect TELEPORT_EFFECT;
+    private static final int SUGGESTIONS = 3;
+    private static final long WARP_LOAD_RETRY_MIN = 5;
+    private static final long WARP_LOAD_RETRY_MAX = 300;
 
     static {
-        COMMAND_TEMPLATE = "/%s %s";
-        LIST_ENTRY = Component.translatable("server.home.list.entry");
-        TELEPORT_COMPONENT = Component.translatable("server.home.teleport.chat");
+        NEARBY_ENTRY = Component.translatable("server.warp.nearest.entry");
+        TELEPORT_EFFECT = new PotionEffect(PotionEffectType.BLINDNESS, 20, 255, true);
     }
 
-    private MetaList<LocationNode> warpList;
+    private volatile LocationRegistry warps;
+    private volatile boolean warpsLoadFailed;
+    private int warpLoadAttempts;
+    private ExecutorService executor;
+    private WarpMetrics metrics;
+    private TimerWheel timerWheel;
+    private TeleportGuard teleportGuard;
+    private HomeCache homeCache;
+    private HomeLimits homeLimits;
+    private WorldRegistry worldRegistry;
+    private ChunkWarmer chunkWarmer;
+    private WarpUsage warpUsage;
+    private EssentialsImporter importer;
+    private LocationBackup backup;
     private int maxHomes;
+    private int homeCacheIdle;
+    private int homeLimitTtl;
+    private int flushInterval;
+    private int flushThreshold;
+    private int bulkTeleportPerTick;
+    private List<String> warmWarps;
+    private int hotWarps;
+    private int hotWarpHalfLife;
+    private int importParallelism;
+    private Map<TeleportGuard.Type, Integer> cooldowns;
+    private Map<TeleportGuard.Type, Integer> warmups;
 
     public static @NotNull SavableMap getRepository(@NotNull Player player) {
         return player.getUser(Context.LOCAL).getRepository(Warp.getPlugin(Warp.class));
     }
 
+    /**
+     * Retrieves the repository of the specified player, who does not have to be online.
+     *
+     * <p>Resolving the user of an offline player queries the database, so this method must not be called on the
+     * main thread.</p>
+     *
+     * @param player the {@link OfflinePlayer} whose repository to retrieve
+     * @return the {@link SavableMap} repository of the player
+     * @see #getRepository(Player)
+     */
+    public static @NotNull SavableMap getRepository(@NotNull OfflinePlayer player) {
+        return player.getUser(Context.LOCAL).getRepository(Warp.getPlugin(Warp.class));
+    }
+
     @Override
     public void onEnable() {
 
         PluginManager pluginManager = Bukkit.getPluginManager();
         pluginManager.registerCommand(this, new SetHome(), new DeleteHome(), new HomeCommand(), new ListHome());
-        pluginManager.registerCommand(this, new DeleteWarp(), new SetWarp(), new WarpCommand(), new ListWarp());
+        pluginManager.registerCommand(this, new DeleteWarp(), new SetWarp(), new WarpCommand(), new ListWarp(), new NearestWarp(), new SearchWarp(), new WarpStats(), new WarpImport(), new WarpBackup());
 
         loadConfig();
         registerTranslations(pluginManager);
 
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.metrics = new WarpMetrics();
+
+        this.worldRegistry = new WorldRegistry();
+        pluginManager.registerEvents(worldRegistry, this);
+        this.chunkWarmer = new ChunkWarmer(this, worldRegistry);
+        this.warpUsage = WarpUsage.withHalfLife(hotWarpHalfLife);
+        Bukkit.getScheduler().runTaskTimer(this, () -> {
+            warpUsage.decay();
+            refreshWarmChunks();
+        }, 1200L, 1200L);
+
+        StagedHomes stagedHomes = new StagedHomes(new File(getDataFolder(), "imports"));
+        this.homeCache = new HomeCache(this, executor, stagedHomes, homeCacheIdle * 1000L, flushThreshold, this::recordWrites);
+        pluginManager.registerEvents(homeCache, this);
+        Bukkit.getScheduler().runTaskTimer(this, homeCache::evictIdle, 1200L, 1200L);
+
+        this.timerWheel = new TimerWheel(512);
+        Bukkit.getScheduler().runTaskTimer(this, timerWheel, 1L, 1L);
+        this.teleportGuard = new TeleportGuard(timerWheel, cooldowns, warmups);
+        pluginManager.registerEvents(teleportGuard, this);
+
+        pluginManager.registerEvents(new AsyncTabCompleter(this), this);
+        this.importer = new EssentialsImporter(this, stagedHomes, importParallelism);
+        this.backup = new LocationBackup(this, stagedHomes, importParallelism);
+
+        this.homeLimits = new HomeLimits(maxHomes, homeLimitTtl * 1000L);
+        pluginManager.registerEvents(homeLimits, this);
+
+        metrics.gauge("warps", () -> isWarpsLoaded() ? warps.size() : 0);
+        metrics.gauge("warp_pending_writes", () -> isWarpsLoaded() ? warps.getPendingCount() : 0);
+        metrics.gauge("cached_home_players", homeCache::size);
+        metrics.gauge("pending_warmups", teleportGuard::getPendingCount);
+
+        long flushTicks = flushInterval * 20L;
+        Bukkit.getScheduler().runTaskTimer(this, this::flush, flushTicks, flushTicks);
+
         Table table = Bukkit.getPulvinar().getPrivateDatabase().createTable("warp_table");
-        this.warpList = table.registerMeta(this).getCollection("warp_list", LocationNode.class).join();
+        loadWarps(table);
+    }
+
+    @Override
+    public void onDisable() {
+        if (importer != null) {
+            importer.cancel();
+        }
+        if (isWarpsLoaded()) {
+            warps.flush();
+        }
+        if (homeCache != null) {
+            homeCache.flushAll();
+        }
+        if (chunkWarmer != null) {
+            chunkWarmer.releaseAll();
+        }
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    /**
+     * Writes all pending warp and home changes to the database.
+     *
+     * <p>The {@code flush} method is called every {@code flush_interval} seconds, so a location changed repeatedly
+     * within an interval is written once with its latest state by its {@link LocationRegistry}. The writes run on the virtual thread executor
+     * of the plugin and do not block the calling thread. Remaining changes are written synchronously when the
+     * plugin is disabled.</p>
+     *
+     * @see LocationRegistry#flushAsync()
+     * @see HomeCache#flushAllAsync()
+     */
+    public void flush() {
+        if (isWarpsLoaded()) {
+            warps.flushAsync().whenComplete((written, throwable) -> {
+                if (throwable != null) {
+                    logWarpWriteFailure(throwable);
+                }
+            });
+        }
+        homeCache.flushAllAsync();
+    }
+
+    /**
+     * Loads the global warps from the specified table without blocking the server.
+     *
+     * <p>The {@code loadWarps} method requests the persisted warp list asynchronously and builds the
+     * {@link LocationRegistry} on the thread completing the request. The finished registry is handed
+     * over to the main thread, until then {@link #getWarps()} reports that the warps are still loading.</p>
+     *
+     * <p>A failed load is retried with an exponential backoff, starting at {@value #WARP_LOAD_RETRY_MIN} and
+     * capped at {@value #WARP_LOAD_RETRY_MAX} seconds. Until a retry succeeds, {@link #getWarps()} reports the
+     * failure instead of claiming that the warps are still loading.</p>
+     *
+     * @param table the {@link Table} the warp list is stored in
+     * @throws NullPointerException if the table is {@code null}
+     */
+    private void loadWarps(@NotNull Table table) {
+        table.registerMeta(this).getCollection("warp_list", LocationNode.class).thenApply(list -> new LocationRegistry(list, flushThreshold, executor, this::recordWrites, this::logWarpWriteFailure)).whenComplete((registry, throwable) -> {
+            if (!isEnabled()) {
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this, () -> {
+                if (throwable != null) {
+                    long delay = Math.min(WARP_LOAD_RETRY_MAX, WARP_LOAD_RETRY_MIN << Math.min(warpLoadAttempts++, 16));
+                    getLogger().log(Level.SEVERE, "Failed to load the warp list, retrying in " + delay + " seconds.", throwable);
+                    this.warpsLoadFailed = true;
+                    Bukkit.getScheduler().runTaskLater(this, () -> loadWarps(table), delay * 20L);
+                    return;
+                }
+
+                this.warps = registry;
+                this.warpsLoadFailed = false;
+                refreshWarmChunks();
+            });
+        });
     }
 
     private void loadConfig() {
@@ -88,6 +258,22 @@ public class Warp extends JavaPlugin {
         }
 
         maxHomes = getConfig().getInt("max_homes");
+        homeCacheIdle = getConfig().getInt("home_cache_idle", 600);
+        homeLimitTtl = getConfig().getInt("home_limit_ttl", 300);
+        flushInterval = Math.max(1, getConfig().getInt("flush_interval", 30));
+        flushThreshold = Math.max(1, getConfig().getInt("flush_threshold", 64));
+        bulkTeleportPerTick = Math.max(1, getConfig().getInt("bulk_teleport_per_tick", 20));
+        warmWarps = getConfig().getStringList("warm_warps");
+        hotWarps = Math.max(0, getConfig().getInt("hot_warps", 5));
+        hotWarpHalfLife = Math.max(1, getConfig().getInt("hot_warp_half_life", 30));
+        importParallelism = Math.max(1, getConfig().getInt("import_parallelism", 8));
+        cooldowns = new EnumMap<>(TeleportGuard.Type.class);
+        warmups = new EnumMap<>(TeleportGuard.Type.class);
+        for (TeleportGuard.Type type : TeleportGuard.Type.values()) {
+            String prefix = type.name().toLowerCase(Locale.ROOT);
+            cooldowns.put(type, Math.max(0, getConfig().getInt(prefix + "_cooldown", 0)));
+            warmups.put(type, Math.max(0, getConfig().getInt(prefix + "_warmup", 0)));
+        }
     }
 
     private void registerTranslations(@NotNull PluginManager pluginManager) {
@@ -115,6 +301,44 @@ public class Warp extends JavaPlugin {
         pluginManager.registerTranslation("server.warp.list.empty", new MessageFormat("There have no warps available."), this);
         pluginManager.registerTranslation("server.warp.list.entry", new MessageFormat("{0} {1}"), this);
         pluginManager.registerTranslation("server.warp.teleport.chat", new MessageFormat("[Teleport]"), this);
+        pluginManager.registerTranslation("server.location.world.invalid", new MessageFormat("The world {0} is not loaded."), this);
+        pluginManager.registerTranslation("server.warp.teleport.bulk", new MessageFormat("Teleporting {0} players to the warp {1}."), this);
+        pluginManager.registerTranslation("server.warp.teleport.bulk.done", new MessageFormat("Teleported {0} players to the warp {1}."), this);
+        pluginManager.registerTranslation("server.warp.teleport.bulk.failed", new MessageFormat("The teleport to the warp {0} was aborted."), this);
+        pluginManager.registerTranslation("server.warp.target.invalid", new MessageFormat("{0} does not select any players."), this);
+        pluginManager.registerTranslation("server.warp.target.permission", new MessageFormat("You are not allowed to teleport other players."), this);
+        pluginManager.registerTranslation("server.warp.nearest.header", new MessageFormat("Nearest warps:"), this);
+        pluginManager.registerTranslation("server.warp.nearest.entry", new MessageFormat("{0} {1} ({2} blocks)"), this);
+        pluginManager.registerTranslation("server.warp.nearest.empty", new MessageFormat("There are no warps in this world."), this);
+        pluginManager.registerTranslation("server.warp.warpname.invalid.suggest", new MessageFormat(warpPrefix + "{0} was not found. Did you mean {1}?"), this);
+        pluginManager.registerTranslation("server.home.homename.invalid.suggest", new MessageFormat("You do not have a home referenced by {0}. Did you mean {1}?"), this);
+        pluginManager.registerTranslation("server.warp.search.header", new MessageFormat("Warps matching {0}:"), this);
+        pluginManager.registerTranslation("server.warp.search.empty", new MessageFormat("There are no warps matching {0}."), this);
+        pluginManager.registerTranslation("server.warp.loading", new MessageFormat("The warps are still being loaded, please try again in a moment."), this);
+        pluginManager.registerTranslation("server.warp.load.failed", new MessageFormat("The warps could not be loaded from the database, the load is being retried."), this);
+        pluginManager.registerTranslation("server.warp.stats.header", new MessageFormat("Warp statistics:"), this);
+        pluginManager.registerTranslation("server.warp.stats.dump", new MessageFormat("Wrote the statistics to {0}."), this);
+        pluginManager.registerTranslation("server.warp.stats.dump.failed", new MessageFormat("Failed to write the statistics to {0}."), this);
+        pluginManager.registerTranslation("server.teleport.cooldown", new MessageFormat("You have to wait {0} seconds before you can teleport again."), this);
+        pluginManager.registerTranslation("server.teleport.warmup", new MessageFormat("You will be teleported in {0} seconds, do not move."), this);
+        pluginManager.registerTranslation("server.teleport.warmup.cancelled", new MessageFormat("The teleport was cancelled."), this);
+        pluginManager.registerTranslation("server.teleport.failed", new MessageFormat("The teleport could not be completed."), this);
+        pluginManager.registerTranslation("server.warp.import.started", new MessageFormat("Importing homes and warps from {0}."), this);
+        pluginManager.registerTranslation("server.warp.import.progress", new MessageFormat("Processed {0} files: {1} homes, {2} new warps, {3} failed."), this);
+        pluginManager.registerTranslation("server.warp.import.done", new MessageFormat("Finished the import of {0} files: {1} homes, {2} new warps, {3} failed. Homes are added when their players join."), this);
+        pluginManager.registerTranslation("server.warp.import.failed", new MessageFormat("The import from {0} failed."), this);
+        pluginManager.registerTranslation("server.warp.import.running", new MessageFormat("An import is already running."), this);
+        pluginManager.registerTranslation("server.warp.import.missing", new MessageFormat("The folder {0} does not exist."), this);
+        pluginManager.registerTranslation("server.warp.backup.export", new MessageFormat("Exported {0} warps and {1} homes of {2} players to {3}."), this);
+        pluginManager.registerTranslation("server.warp.backup.export.failed", new MessageFormat("Failed to export the warps and homes to {0}."), this);
+        pluginManager.registerTranslation("server.warp.backup.restore", new MessageFormat("Restored {0} new warps and staged {1} homes of {2} players from {3}. Homes are added when their players join."), this);
+        pluginManager.registerTranslation("server.warp.backup.restore.failed", new MessageFormat("Failed to restore the warps and homes from {0}."), this);
+        pluginManager.registerTranslation("server.warp.backup.action.invalid", new MessageFormat("Unknown action {0}, use export or restore."), this);
+        pluginManager.registerTranslation("server.warp.backup.file.missing", new MessageFormat("Please specify the backup to restore."), this);
+        pluginManager.registerTranslation("server.warp.backup.file.invalid", new MessageFormat("The backup {0} is not valid."), this);
+        pluginManager.registerTranslation("server.warp.backup.running", new MessageFormat("A backup is already running."), this);
+        pluginManager.registerTranslation("server.home.load.failed", new MessageFormat("Your homes could not be loaded, please try again later."), this);
+        pluginManager.registerTranslation("server.home.command.failed", new MessageFormat("The home command could not be completed."), this);
     }
 
     public int getMaxHomes() {
@@ -186,7 +410,61 @@ public class Warp extends JavaPlugin {
      * @see Player
      */
     public boolean searchLocation(@NotNull Player player, @NotNull String name, @NotNull Component teleportMessage) {
-        return searchLocation(player, name, teleportMessage, getWarps());
+        if (searchLocation(player, name, teleportMessage, getWarps(), TeleportGuard.Type.WARP)) {
+            warpUsage.record(name);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The search method to find a location by name in a {@link LocationRegistry} and teleport the player to it.
+     *
+     * <p>Unlike the collection based variant, the lookup is answered by the name index of the registry
+     * and therefore does not depend on the amount of registered locations.</p>
+     *
+     * @param player          the player to teleport
+     * @param name            the name of the location to search for
+     * @param teleportMessage the message to display upon successful teleportation
+     * @param registry        the {@link LocationRegistry} to search within
+     * @return true if the location is found and the player is teleported, false otherwise
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @see LocationRegistry
+     */
+    public boolean searchLocation(@NotNull Player player, @NotNull String name, @NotNull Component teleportMessage, @NotNull LocationRegistry registry) {
+        LocationNode location = lookup(registry, name);
+        if (location == null) {
+            return false;
+        }
+        teleport(teleportMessage, location, player);
+        return true;
+    }
+
+    /**
+     * The search method to find a location by name in a {@link LocationRegistry} and teleport the player to it,
+     * respecting the cooldown and warmup of the given type.
+     *
+     * <p>The lookup works like {@link #searchLocation(Player, String, Component, LocationRegistry)}. When a
+     * location is found, the teleport is handed to the {@link TeleportGuard}, which rejects it while the player
+     * is on cooldown and otherwise executes it immediately or after the configured warmup.</p>
+     *
+     * @param player          the player to teleport
+     * @param name            the name of the location to search for
+     * @param teleportMessage the message to display upon successful teleportation
+     * @param registry        the {@link LocationRegistry} to search within
+     * @param type            the {@link TeleportGuard.Type} deciding the cooldown and warmup
+     * @return true if the location is found and the teleport was accepted, false otherwise
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @throws OperationException   if the player is still on cooldown
+     * @see TeleportGuard#request(Player, TeleportGuard.Type, Runnable)
+     */
+    public boolean searchLocation(@NotNull Player player, @NotNull String name, @NotNull Component teleportMessage, @NotNull LocationRegistry registry, @NotNull TeleportGuard.Type type) {
+        LocationNode location = lookup(registry, name);
+        if (location == null) {
+            return false;
+        }
+        teleportGuard.request(player, type, () -> teleport(teleportMessage, location, player));
+        return true;
     }
 
     /**
@@ -217,33 +495,111 @@ public class Warp extends JavaPlugin {
      * @see Player
      */
     public boolean searchLocation(@NotNull Player player, @NotNull String name, @NotNull Component teleportMessage, @NotNull Collection<LocationNode> nodes) {
+        long start = System.nanoTime();
         for (LocationNode location : nodes) {
             if (Objects.equals(name, location.name())) {
+                metrics.record(WarpMetrics.Timer.LOOKUP, System.nanoTime() - start);
+                metrics.increment(WarpMetrics.Counter.LOOKUP_HITS);
                 teleport(teleportMessage, location, player);
                 return true;
             }
         }
+        metrics.record(WarpMetrics.Timer.LOOKUP, System.nanoTime() - start);
+        metrics.increment(WarpMetrics.Counter.LOOKUP_MISSES);
         return false;
     }
 
+    private @Nullable LocationNode lookup(@NotNull LocationRegistry registry, @NotNull String name) {
+        long start = System.nanoTime();
+        LocationNode location = registry.get(name);
+        metrics.record(WarpMetrics.Timer.LOOKUP, System.nanoTime() - start);
+        metrics.increment(location != null ? WarpMetrics.Counter.LOOKUP_HITS : WarpMetrics.Counter.LOOKUP_MISSES);
+        return location;
+    }
+
     /**
      * Teleports the player to the specified home location.
      *
      * <p>The {@code teleport} method handles the teleportation logic for the "home" command. It teleports
      * the player to the specified {@link LocationNode} and provides visual and auditory effects.</p>
      *
+     * <p>The world of the node is resolved through the {@link WorldRegistry}, and the effect and sound are
+     * shared constants, so a teleport only allocates the target {@link org.bukkit.Location}. The player is
+     * moved using {@link Player#teleportAsync(org.bukkit.Location)}, which loads the destination chunk off the
+     * main thread first. The effects and the message follow once the player has arrived. The time until the
+     * teleport completed is recorded in the {@link WarpMetrics}.</p>
+     *
      * @param message      the component representing the home name for the teleport message
      * @param locationNode the {@link LocationNode} representing the home location to teleport to
      * @param player       the {@link Player} to be teleported
      * @throws NullPointerException if any of the parameters is {@code null}
+     * @throws OperationException   if the world of the location is not loaded
      * @see LocationNode
      * @see Player
      */
-    private void teleport(@NotNull Component message, @NotNull LocationNode locationNode, @NotNull Player player) {
-        player.teleport(locationNode.toLocation());
-        player.playSound(player.getLocation(), "minecraft:block.stone.step", SoundCategory.AMBIENT, 1.0f, 1.0f);
-        player.addPotionEffect(new PotionEffect(PotionEffectType.BLINDNESS, 20, 255, true));
-        player.sendMessage(message);
+    void teleport(@NotNull Component message, @NotNull LocationNode locationNode, @NotNull Player player) {
+        World world = worldRegistry.getWorld(locationNode.worldName());
+        validate(world != null, Component.translatable("server.location.world.invalid", Component.text(locationNode.worldName())));
+
+        long start = System.nanoTime();
+        player.teleportAsync(locationNode.toLocation(world)).thenAccept(success -> {
+            metrics.record(WarpMetrics.Timer.TELEPORT, System.nanoTime() - start);
+            if (!success) {
+                metrics.increment(WarpMetrics.Counter.TELEPORT_FAILURES);
+                return;
+            }
+            metrics.increment(WarpMetrics.Counter.TELEPORTS);
+            player.playSound(player, Sound.BLOCK_STONE_STEP, SoundCategory.AMBIENT, 1.0f, 1.0f);
+            player.addPotionEffect(TELEPORT_EFFECT);
+            player.sendMessage(message);
+        });
+    }
+
+    /**
+     * Keeps the destination chunks of the configured and the most used warps loaded.
+     *
+     * <p>The {@code refreshWarmChunks} method hands the warps listed in {@code warm_warps} and the
+     * {@code hot_warps} most used warps according to the {@link WarpUsage} to the {@link ChunkWarmer}, which
+     * tickets their chunks and releases the chunks of warps no longer selected or no longer existing. It is
+     * called periodically after the usage scores decayed, and after warps are created, moved or deleted.</p>
+     *
+     * @see ChunkWarmer
+     * @see WarpUsage
+     */
+    public void refreshWarmChunks() {
+        if (!isWarpsLoaded()) {
+            return;
+        }
+
+        Stream<String> names = Stream.concat(warmWarps.stream(), warpUsage.top(hotWarps).stream());
+        chunkWarmer.retain(names.distinct().map(warps::get).filter(Objects::nonNull).toList());
+    }
+
+    public @NotNull WarpUsage getWarpUsage() {
+        return warpUsage;
+    }
+
+    /**
+     * Teleports many players to the specified location, spread across multiple ticks.
+     *
+     * <p>The {@code teleportAll} method preloads the chunks around the destination asynchronously and then
+     * teleports at most {@code bulk_teleport_per_tick} players per tick using a {@link BulkTeleport}. Every
+     * teleported player receives the specified message.</p>
+     *
+     * @param locationNode the {@link LocationNode} to teleport the players to
+     * @param players      the players to teleport
+     * @param message      the message to display to every teleported player
+     * @return a {@link CompletableFuture} completing with the amount of teleported players
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @throws OperationException   if the world of the location is not loaded
+     * @see BulkTeleport
+     */
+    public @NotNull CompletableFuture<Integer> teleportAll(@NotNull LocationNode locationNode, @NotNull Collection<? extends Player> players, @NotNull Component message) {
+        World world = worldRegistry.getWorld(locationNode.worldName());
+        validate(world != null, Component.translatable("server.location.world.invalid", Component.text(locationNode.worldName())));
+
+        warpUsage.record(locationNode.name());
+        return new BulkTeleport(this, locationNode, chunkWarmer, players, message, bulkTeleportPerTick).start();
     }
 
     /**
@@ -251,7 +607,8 @@ public class Warp extends JavaPlugin {
      *
      * <p>The {@code generateComponent} method constructs a {@link Component} containing a header, a list of location entries,
      * and a footer. The entries are retrieved using the provided {@link PageBuilder} for a specific page. Each entry is
-     * formatted as a clickable list item with a teleport command associated with it.</p>
+     * formatted as a clickable list item with a teleport command associated with it. The page is rendered by the
+     * {@link ListRenderer} in the color of the general theme.</p>
      *
      * <p>Example usage:</p>
      *
@@ -277,15 +634,104 @@ public class Warp extends JavaPlugin {
      * @see LocationNode
      */
     public @NotNull Component generateComponent(@NotNull Component title, @NotNull String label, @NotNull PageBuilder<LocationNode> pageBuilder, int page) {
-        TextComponent.Builder builder = Component.text().append(pageBuilder.getHeader(title, page)).appendNewline();
+        return ListRenderer.renderPage(title, label, pageBuilder, page, ThemeProvider.general());
+    }
 
-        Stream<LocationNode> homes = pageBuilder.getEntries(page).stream();
-        builder.append(homes.map(toListEntry(label)).toArray(Component[]::new));
+    /**
+     * Generates a {@link Component} for displaying a page of the locations held by a {@link LocationRegistry}.
+     *
+     * <p>The rendered page is cached by the registry per label and page, and reused until the registry
+     * changes. The page is only built through {@link #generateComponent(Component, String, PageBuilder, int)}
+     * if it is not cached yet. The {@link PageBuilder} is created over the name-sorted view of the registry,
+     * so the entries are listed alphabetically and only the entries of the requested page are resolved.</p>
+     *
+     * @param title    the title component for the generated component
+     * @param label    the label for the list entries
+     * @param registry the {@link LocationRegistry} holding the location entries
+     * @param page     the page number to generate
+     * @return a {@link Component} representing the generated page
+     * @throws NullPointerException if any of the parameters (title, label, or registry) are {@code null}
+     * @see LocationRegistry#getPage(String, int, java.util.function.Supplier)
+     */
+    public @NotNull Component generateComponent(@NotNull Component title, @NotNull String label, @NotNull LocationRegistry registry, int page) {
+        return registry.getPage(label, page, () -> generateComponent(title, label, new PageBuilder<>(registry.sorted()), page));
+    }
+
+    /**
+     * Generates a {@link Component} listing the specified locations together with their distance to an origin.
+     *
+     * <p>Each entry is clickable and executes the teleport command with the specified label, like the entries
+     * of {@link #generateComponent(Component, String, PageBuilder, int)}.</p>
+     *
+     * @param label  the label for the list entries
+     * @param nodes  the locations to list, in the order they should be displayed
+     * @param origin the {@link Location} the distances are measured from
+     * @return a {@link Component} listing the locations
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @see #getNearestWarps(Location, int)
+     */
+    public @NotNull Component generateNearbyComponent(@NotNull String label, @NotNull List<LocationNode> nodes, @NotNull Location origin) {
+        TextComponent.Builder builder = Component.text().append(Component.translatable("server.warp.nearest.header"));
+        for (LocationNode location : nodes) {
+            long distance = Math.round(Math.sqrt(SpatialIndex.distanceSquared(location, origin.x(), origin.y(), origin.z())));
+            Component teleportComponent = ListRenderer.teleportButton(label, location, ThemeProvider.general());
+
+            builder.appendNewline().append(NEARBY_ENTRY.arguments(teleportComponent, Component.text(location.name()), Component.text(distance)));
+        }
+        return builder.asComponent();
+    }
 
-        builder.append(pageBuilder.getFooter(title, page));
+    /**
+     * Generates a {@link Component} listing the locations found for a search query.
+     *
+     * <p>Each entry is clickable and executes the teleport command with the specified label, like the entries
+     * of {@link #generateComponent(Component, String, PageBuilder, int)}.</p>
+     *
+     * @param label the label for the list entries
+     * @param query the text which was searched for
+     * @param nodes the locations to list, in the order they should be displayed
+     * @return a {@link Component} listing the locations
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @see LocationRegistry#search(String, int)
+     */
+    public @NotNull Component generateSearchComponent(@NotNull String label, @NotNull String query, @NotNull List<LocationNode> nodes) {
+        TextComponent.Builder builder = Component.text().append(Component.translatable("server.warp.search.header", Component.text(query)));
+        Function<LocationNode, Component> entry = toListEntry(label);
+        for (LocationNode location : nodes) {
+            builder.appendNewline().append(entry.apply(location));
+        }
         return builder.asComponent();
     }
 
+    /**
+     * Creates the message reporting that a location does not exist, suggesting similar names if there are any.
+     *
+     * <p>The suggestions are looked up through {@link LocationRegistry#suggest(String, int)}. Without suggestions,
+     * the plain {@code key} message is returned, otherwise the {@code key} with {@code .suggest} appended, which
+     * receives the suggested names as second argument.</p>
+     *
+     * <p>Example usage:</p>
+     *
+     * <pre>
+     * {@code
+     * throw new OperationException(plugin.notFound("server.warp.warpname.invalid", "spwan", plugin.getWarps()));
+     * }
+     * </pre>
+     *
+     * @param key      the translation key of the message without suggestions
+     * @param name     the name which was not found
+     * @param registry the {@link LocationRegistry} which was searched
+     * @return the message {@link Component}
+     */
+    public @NotNull Component notFound(@NotNull String key, @NotNull String name, @NotNull LocationRegistry registry) {
+        List<String> suggestions = registry.suggest(name, SUGGESTIONS);
+        if (suggestions.isEmpty()) {
+            return Component.translatable(key, Component.text(name));
+        }
+
+        return Component.translatable(key + ".suggest", Component.text(name), Component.text(String.join(", ", suggestions)));
+    }
+
     /**
      * Converts a {@link LocationNode} to a list entry {@link Component} with a teleport command.
      *
@@ -310,27 +756,158 @@ public class Warp extends JavaPlugin {
      * @see Component
      */
     private @NotNull Function<LocationNode, Component> toListEntry(@NotNull String label) {
-        return location -> {
-            String command = COMMAND_TEMPLATE.formatted(label, location.name());
-            ClickEvent clickEvent = ClickEvent.runCommand(command);
-            Component teleportComponent = TELEPORT_COMPONENT.clickEvent(clickEvent).color(ThemeProvider.general());
-
-            return LIST_ENTRY.arguments(teleportComponent, Component.text(location.name()));
-        };
+        return ListRenderer.toListEntry(label, ThemeProvider.general());
     }
 
     /**
-     * Retrieves an unmodifiable set of {@link LocationNode} objects from the cache.
+     * Retrieves the {@link LocationRegistry} holding the global warps.
      *
-     * <p>The {@code getCache} method returns an unmodifiable {@link Set} containing {@link LocationNode} objects
-     * stored in the cache. Modifying the returned set will result in an {@link UnsupportedOperationException}.</p>
+     * <p>The {@code getWarps} method returns the registry indexing the persisted warp list by name.
+     * Changes made through the registry are written through to the database.</p>
      *
-     * @return an unmodifiable {@link Set} of {@link LocationNode} objects from the cache
-     * @throws UnsupportedOperationException if attempting to modify the returned set
+     * @return the {@link LocationRegistry} of the global warps
+     * @throws OperationException if the warps are still being loaded
+     * @see LocationRegistry
      * @see LocationNode
-     * @see Collections#unmodifiableSet(Set)
+     * @see #isWarpsLoaded()
+     */
+    public @NotNull LocationRegistry getWarps() {
+        validate(isWarpsLoaded(), Component.translatable(warpsLoadFailed ? "server.warp.load.failed" : "server.warp.loading"));
+        return warps;
+    }
+
+    /**
+     * Retrieves the warps closest to the specified location, closest first.
+     *
+     * <p>Only warps in the world of the location are considered. The query is answered by the
+     * {@link SpatialIndex} of the warp registry, without inspecting every warp.</p>
+     *
+     * @param location the {@link Location} to search around
+     * @param limit    the maximum amount of warps to return
+     * @return an unmodifiable {@link List} of at most {@code limit} warps, sorted by distance
+     * @throws OperationException if the warps are still being loaded
+     * @see SpatialIndex#nearest(String, double, double, double, int)
+     */
+    public @NotNull @Unmodifiable List<LocationNode> getNearestWarps(@NotNull Location location, int limit) {
+        return getWarps().getSpatialIndex().nearest(location.getWorld().getName(), location.x(), location.y(), location.z(), limit);
+    }
+
+    /**
+     * Retrieves all warps within the specified distance of a location, closest first.
+     *
+     * @param location the {@link Location} to search around
+     * @param radius   the maximum distance in blocks
+     * @return an unmodifiable {@link List} of the warps within the radius, sorted by distance
+     * @throws OperationException if the warps are still being loaded
+     * @see SpatialIndex#withinRadius(String, double, double, double, double)
      */
-    public @NotNull @Unmodifiable MetaList<LocationNode> getWarps() {
-        return warpList;
+    public @NotNull @Unmodifiable List<LocationNode> getWarpsWithin(@NotNull Location location, double radius) {
+        return getWarps().getSpatialIndex().withinRadius(location.getWorld().getName(), location.x(), location.y(), location.z(), radius);
+    }
+
+    /**
+     * Checks whether the global warps have finished loading.
+     *
+     * @return true if the warps are loaded and {@link #getWarps()} can be used, false otherwise
+     */
+    public boolean isWarpsLoaded() {
+        return warps != null;
+    }
+
+    /**
+     * Runs the specified action with the {@link LocationRegistry} holding the homes of the specified player.
+     *
+     * <p>The {@code withHomes} method answers from the {@link HomeCache}. Home lists are loaded off the main
+     * thread when the player joins, so a slow database never stalls a home command. If the homes of the player
+     * are cached, the action runs immediately and an {@link OperationException} thrown by it is reported by the
+     * command framework as usual. Otherwise, for example because the homes were evicted after being idle, the
+     * action runs on the main thread once the homes have been loaded, and is dropped if the player left in the
+     * meantime. Changes made through the registry are written to the repository with the next flush.</p>
+     *
+     * <p>A deferred action no longer runs within the command, so a failed load and a rejection of the action
+     * are sent to the player as messages instead. The message of an {@link OperationException} thrown by the
+     * action is sent as it is, so the player sees the same reason as for cached homes. Any other exception is
+     * logged and reported with a generic message.</p>
+     *
+     * <p>Example usage:</p>
+     *
+     * <pre>
+     * {@code
+     * plugin.withHomes(player, homes -> player.sendMessage(Component.text(homes.size())));
+     * }
+     * </pre>
+     *
+     * @param player the {@link Player} whose homes to use
+     * @param action the action to run with the {@link LocationRegistry} of the homes of the player
+     * @throws NullPointerException if the player or action is {@code null}
+     * @see HomeCache#load(Player)
+     */
+    public void withHomes(@NotNull Player player, @NotNull Consumer<LocationRegistry> action) {
+        LocationRegistry cached = homeCache.getIfLoaded(player);
+        if (cached != null) {
+            action.accept(cached);
+            return;
+        }
+
+        homeCache.load(player).whenComplete((homes, throwable) -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (throwable != null) {
+                player.sendMessage(Component.translatable("server.home.load.failed"));
+                return;
+            }
+
+            try {
+                action.accept(homes);
+            } catch (OperationException exception) {
+                Component message = ComponentMessageThrowable.getOrConvertMessage(exception);
+                player.sendMessage(message != null ? message : Component.translatable("server.home.command.failed"));
+            } catch (RuntimeException exception) {
+                getLogger().log(Level.SEVERE, "Failed to run a home command of " + player.getName() + ".", exception);
+                player.sendMessage(Component.translatable("server.home.command.failed"));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the virtual thread executor running the database work of the plugin.
+     *
+     * @return the {@link ExecutorService} used for loading and writing locations
+     */
+    public @NotNull ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public @NotNull WarpMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void recordWrites(int written) {
+        metrics.add(WarpMetrics.Counter.DATABASE_WRITES, written);
+    }
+
+    private void logWarpWriteFailure(@NotNull Throwable throwable) {
+        getLogger().log(Level.SEVERE, "Failed to write the warp list, the changes are written again with the next flush.", throwable);
+    }
+
+    public @NotNull WorldRegistry getWorldRegistry() {
+        return worldRegistry;
+    }
+
+    public @NotNull HomeLimits getHomeLimits() {
+        return homeLimits;
+    }
+
+    public @NotNull HomeCache getHomeCache() {
+        return homeCache;
+    }
+
+    public @NotNull EssentialsImporter getImporter() {
+        return importer;
+    }
+
+    public @NotNull LocationBackup getBackup() {
+        return backup;
     }
 }
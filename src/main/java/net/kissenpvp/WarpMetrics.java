@@ -0,0 +1,248 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The WarpMetrics class, collecting counters, latency histograms and gauges of the plugin.
+ *
+ * <p>Counters and histograms are backed by {@link LongAdder} instances, so recording a value from the main
+ * thread, the teleport callbacks or the database executor never contends on a shared lock. Gauges are
+ * evaluated only when the metrics are rendered, so they do not cost anything while nobody looks at them.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * WarpMetrics metrics = new WarpMetrics();
+ * metrics.gauge("warps", () -> registry.size());
+ * metrics.increment(WarpMetrics.Counter.WARP_CALLS);
+ * metrics.record(WarpMetrics.Timer.TELEPORT, System.nanoTime() - start);
+ * String report = metrics.render();
+ * }
+ * </pre>
+ *
+ * @see Warp#getMetrics()
+ */
+public class WarpMetrics {
+
+    private final Map<Counter, LongAdder> counters;
+    private final Map<Timer, Histogram> timers;
+    private final Map<String, LongSupplier> gauges;
+    private final long startedAt;
+
+    /**
+     * Constructs an empty WarpMetrics instance.
+     */
+    public WarpMetrics() {
+        this.counters = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        this.timers = new EnumMap<>(Timer.class);
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, new Histogram());
+        }
+        this.gauges = new LinkedHashMap<>();
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    public void increment(@NotNull Counter counter) {
+        counters.get(counter).increment();
+    }
+
+    public void add(@NotNull Counter counter, long amount) {
+        counters.get(counter).add(amount);
+    }
+
+    public long get(@NotNull Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * Records a duration in the histogram of the specified timer.
+     *
+     * @param timer the {@link Timer} to record the duration in
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(@NotNull Timer timer, long nanos) {
+        timers.get(timer).record(nanos);
+    }
+
+    public @NotNull Histogram get(@NotNull Timer timer) {
+        return timers.get(timer);
+    }
+
+    /**
+     * Registers a gauge which is evaluated whenever the metrics are rendered.
+     *
+     * <p>Gauges are meant to be registered once while the plugin is enabled and read values which are cheap to
+     * obtain, like the size of a collection.</p>
+     *
+     * @param name  the name of the gauge
+     * @param value the {@link LongSupplier} providing the current value
+     */
+    public synchronized void gauge(@NotNull String name, @NotNull LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Renders all counters, histograms and gauges as plain text, one metric per line.
+     *
+     * <p>Histogram percentiles are upper bounds of power-of-two microsecond buckets, so they are exact to within
+     * a factor of two.</p>
+     *
+     * @return the rendered metrics
+     */
+    public synchronized @NotNull String render() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("uptime_seconds ").append(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startedAt)).append('\n');
+        for (Map.Entry<Counter, LongAdder> counter : counters.entrySet()) {
+            builder.append(counter.getKey().getName()).append(' ').append(counter.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            builder.append(gauge.getKey()).append(' ').append(gauge.getValue().getAsLong()).append('\n');
+        }
+        for (Map.Entry<Timer, Histogram> timer : timers.entrySet()) {
+            Histogram histogram = timer.getValue();
+            String name = timer.getKey().getName();
+            builder.append(name).append("_count ").append(histogram.count()).append('\n');
+            builder.append(name).append("_mean_us ").append(histogram.meanMicros()).append('\n');
+            builder.append(name).append("_p50_us ").append(histogram.percentileMicros(0.5)).append('\n');
+            builder.append(name).append("_p99_us ").append(histogram.percentileMicros(0.99)).append('\n');
+            builder.append(name).append("_max_us ").append(histogram.maxMicros()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The counters maintained by the plugin.
+     */
+    public enum Counter {
+        WARP_CALLS("warp_calls"),
+        HOME_CALLS("home_calls"),
+        LOOKUP_HITS("lookup_hits"),
+        LOOKUP_MISSES("lookup_misses"),
+        TELEPORTS("teleports"),
+        TELEPORT_FAILURES("teleport_failures"),
+        WARPS_SET("warps_set"),
+        WARPS_DELETED("warps_deleted"),
+        HOMES_SET("homes_set"),
+        HOMES_DELETED("homes_deleted"),
+        DATABASE_WRITES("database_writes");
+
+        private final String name;
+
+        Counter(@NotNull String name) {
+            this.name = name;
+        }
+
+        public @NotNull String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * The latencies measured by the plugin.
+     */
+    public enum Timer {
+        LOOKUP("lookup_latency"),
+        TELEPORT("teleport_latency");
+
+        private final String name;
+
+        Timer(@NotNull String name) {
+            this.name = name;
+        }
+
+        public @NotNull String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * The Histogram class, counting durations in buckets of power-of-two microseconds.
+     *
+     * <p>Bucket {@code i} holds durations below {@code 2^i} microseconds, the last bucket everything above.</p>
+     */
+    public static final class Histogram {
+
+        private static final int BUCKETS = 32;
+
+        private final LongAdder[] buckets;
+        private final LongAdder count;
+        private final LongAdder sum;
+        private final LongAccumulator max;
+
+        private Histogram() {
+            this.buckets = new LongAdder[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+            this.count = new LongAdder();
+            this.sum = new LongAdder();
+            this.max = new LongAccumulator(Math::max, 0);
+        }
+
+        /**
+         * Records the specified duration.
+         *
+         * @param nanos the duration in nanoseconds
+         */
+        public void record(long nanos) {
+            long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))].increment();
+            count.increment();
+            sum.add(micros);
+            max.accumulate(micros);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long meanMicros() {
+            long samples = count.sum();
+            return samples == 0 ? 0 : sum.sum() / samples;
+        }
+
+        public long maxMicros() {
+            return max.get();
+        }
+
+        /**
+         * Estimates the specified percentile of the recorded durations.
+         *
+         * @param percentile the percentile between 0 and 1
+         * @return the upper bound in microseconds of the bucket containing the percentile, or 0 if nothing was recorded
+         */
+        public long percentileMicros(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets[i].sum();
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(1L << i, maxMicros());
+                }
+            }
+            return maxMicros();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.kissenpvp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The WarpUsage class, tracking how often each warp is used with exponentially decaying counters.
+ *
+ * <p>The {@code WarpUsage} adds one to the score of a warp for every use. Whenever {@link #decay()} is called,
+ * all scores are multiplied with the decay factor, so the score of a warp reflects its recent popularity
+ * rather than its popularity since the server started. Scores dropping below a threshold are forgotten, which
+ * bounds the memory to the recently used warps.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * WarpUsage usage = WarpUsage.withHalfLife(30); // decay is called once per minute
+ * usage.record("spawn");
+ * List<String> hottest = usage.top(5);
+ * }
+ * </pre>
+ *
+ * @see ChunkWarmer
+ */
+public class WarpUsage {
+
+    private static final double FORGET_THRESHOLD = 0.05;
+
+    private final Map<String, Double> scores;
+    private final double decayFactor;
+
+    /**
+     * Constructs a WarpUsage multiplying all scores with the specified factor on each decay.
+     *
+     * @param decayFactor the factor applied on each decay, between {@code 0} exclusive and {@code 1} inclusive
+     * @throws IllegalArgumentException if the factor is out of range
+     */
+    public WarpUsage(double decayFactor) {
+        if (decayFactor <= 0 || decayFactor > 1) {
+            throw new IllegalArgumentException("The decay factor must be within (0, 1].");
+        }
+        this.scores = new HashMap<>();
+        this.decayFactor = decayFactor;
+    }
+
+    /**
+     * Creates a WarpUsage whose scores halve after the specified amount of decays.
+     *
+     * @param halfLife the amount of {@link #decay()} calls after which a score is halved
+     * @return a new {@link WarpUsage} with the corresponding decay factor
+     * @throws IllegalArgumentException if the half-life is not positive
+     */
+    public static @NotNull WarpUsage withHalfLife(int halfLife) {
+        if (halfLife <= 0) {
+            throw new IllegalArgumentException("The half-life must be positive.");
+        }
+        return new WarpUsage(Math.pow(0.5, 1d / halfLife));
+    }
+
+    /**
+     * Records a single use of the warp with the specified name.
+     *
+     * @param name the name of the used warp
+     */
+    public void record(@NotNull String name) {
+        scores.merge(name, 1d, Double::sum);
+    }
+
+    /**
+     * Forgets the score of the warp with the specified name, for example after it was deleted.
+     *
+     * @param name the name of the warp
+     */
+    public void forget(@NotNull String name) {
+        scores.remove(name);
+    }
+
+    /**
+     * Decays all scores once and forgets scores that became negligible.
+     */
+    public void decay() {
+        scores.replaceAll((name, score) -> score * decayFactor);
+        scores.values().removeIf(score -> score < FORGET_THRESHOLD);
+    }
+
+    /**
+     * Retrieves the names of the most used warps, most used first.
+     *
+     * @param limit the maximum amount of names to return
+     * @return an unmodifiable {@link List} of at most {@code limit} warp names
+     */
+    public @NotNull @Unmodifiable List<String> top(int limit) {
+        if (limit <= 0 || scores.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(heap);
+        entries.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Retrieves the current score of the warp with the specified name.
+     *
+     * @param name the name of the warp
+     * @return the decayed amount of uses, or {@code 0} if the warp was not used recently
+     */
+    public double getScore(@NotNull String name) {
+        return scores.getOrDefault(name, 0d);
+    }
+}
@@ -0,0 +1,133 @@
+package net.kissenpvp;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The WorldRegistry class, interning world names to small integer ids and caching resolved {@link World} handles.
+ *
+ * <p>Every world name passing through {@link #intern(String)} is mapped to a process-wide id and a canonical
+ * {@link String} instance. {@link LocationNode} interns its world name on construction, so thousands of nodes
+ * share one name instance per world, and indexes can refer to worlds by id instead of by name.</p>
+ *
+ * <p>An instance of the registry keeps the loaded {@link World} handle of each id in an array, so a
+ * {@link LocationNode} can be resolved without going through {@link Bukkit#getWorld(String)} on every teleport.
+ * The handles follow {@link WorldLoadEvent} and {@link WorldUnloadEvent}, so unloaded worlds are never handed
+ * out.</p>
+ *
+ * @see LocationNode#toLocation(World)
+ */
+public class WorldRegistry implements Listener {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    private volatile World[] worlds;
+
+    /**
+     * Constructs a WorldRegistry containing all worlds currently loaded by the server.
+     */
+    public WorldRegistry() {
+        this.worlds = new World[0];
+        for (World world : Bukkit.getWorlds()) {
+            set(world.getName(), world);
+        }
+    }
+
+    /**
+     * Returns the id of the specified world name, assigning a new id if the name was not interned before.
+     *
+     * @param name the name of the world
+     * @return the id of the world name
+     */
+    public static int idOf(@NotNull String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * Returns the canonical instance of the specified world name.
+     *
+     * @param name the name of the world
+     * @return the interned {@link String} equal to the given name
+     */
+    public static @NotNull String intern(@NotNull String name) {
+        int id = idOf(name); // registers the name first, the array is read afterwards
+        return names[id];
+    }
+
+    /**
+     * Returns the world name of the specified id.
+     *
+     * @param id the id of the world name
+     * @return the interned world name
+     * @throws IndexOutOfBoundsException if no world name with the given id was interned
+     */
+    public static @NotNull String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Retrieves the loaded world with the specified name.
+     *
+     * @param name the name of the world
+     * @return the loaded {@link World}, or {@code null} if no world with the given name is loaded
+     */
+    public @Nullable World getWorld(@NotNull String name) {
+        return getWorld(idOf(name));
+    }
+
+    /**
+     * Retrieves the loaded world with the specified id.
+     *
+     * @param id the id of the world name
+     * @return the loaded {@link World}, or {@code null} if no world with the given id is loaded
+     * @see #idOf(String)
+     */
+    public @Nullable World getWorld(int id) {
+        World[] current = worlds;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(@NotNull WorldLoadEvent event) {
+        set(event.getWorld().getName(), event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(@NotNull WorldUnloadEvent event) {
+        set(event.getWorld().getName(), null);
+    }
+
+    private synchronized void set(@NotNull String name, @Nullable World world) {
+        int id = idOf(name);
+        World[] copy = worlds.length > id ? worlds.clone() : Arrays.copyOf(worlds, id + 1);
+        copy[id] = world;
+        worlds = copy;
+    }
+
+    private static synchronized int register(@NotNull String name) {
+        Integer existing = IDS.get(name);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = names.length;
+        String[] copy = Arrays.copyOf(names, id + 1);
+        copy[id] = name;
+        names = copy;
+        IDS.put(name, id);
+        return id;
+    }
+}
@@ -1,21 +1,22 @@
 package net.kissenpvp.commands.home;
 
 import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
 import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
 import net.kissenpvp.core.api.command.annotations.CommandData;
 import net.kissenpvp.core.api.command.annotations.TabCompleter;
-import net.kissenpvp.core.api.database.meta.list.MetaList;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * The DeleteHome class containing a command to delete a player's home.
@@ -38,7 +39,8 @@ public class DeleteHome {
      *
      * <p>The {@code deleteHomeCommand} method is a command handler that allows players to delete their
      * home locations. It takes a {@link CommandPayload} containing the sender and the home name as an
-     * argument. The command removes the home with the specified name from the player's home list.</p>
+     * argument. The command removes the home with the specified name from the player's home list. If the home
+     * list is not cached, the command completes once it has been loaded.</p>
      *
      * @param commandPayload the {@link CommandPayload} containing the sender and arguments
      * @param homeName       the name of the home to be deleted
@@ -51,12 +53,15 @@ public class DeleteHome {
     @CommandData(value = "homedelete", aliases = {"deletehome", "delhome", "homedel"}, target = CommandTarget.PLAYER)
     public void deleteHomeCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("home") String homeName) {
         Player player = (Player) commandPayload.getSender();
-        MetaList<LocationNode> homeList = Warp.getRepository(player).getListNotNull("home_list", LocationNode.class);
-        if (homeList.removeIf(warp -> warp.name().equals(homeName))) {
-            player.sendMessage(Component.translatable("server.home.delete.success", Component.text(homeName)));
-            return;
-        }
-        player.sendMessage(Component.translatable("server.home.homename.invalid", Component.text(homeName)));
+        Warp plugin = Warp.getPlugin(Warp.class);
+        plugin.withHomes(player, homes -> {
+            if (homes.remove(homeName)) {
+                plugin.getMetrics().increment(WarpMetrics.Counter.HOMES_DELETED);
+                player.sendMessage(Component.translatable("server.home.delete.success", Component.text(homeName)));
+                return;
+            }
+            player.sendMessage(Component.translatable("server.home.homename.invalid", Component.text(homeName)));
+        });
     }
 
     /**
@@ -75,6 +80,12 @@ public class DeleteHome {
     @TabCompleter("homedelete")
     public @NotNull @Unmodifiable Set<String> deleteHomeTabCompleter(@NotNull CommandPayload<CommandSender> commandPayload) {
         Player player = (Player) commandPayload.getSender();
-        return Warp.getRepository(player).getListNotNull("home_list", LocationNode.class).stream().map(LocationNode::name).collect(Collectors.toUnmodifiableSet());
+        Warp plugin = Warp.getPlugin(Warp.class);
+        LocationRegistry homes = plugin.getHomeCache().getIfLoaded(player);
+        if (homes == null) {
+            plugin.getHomeCache().load(player); // the next completion request is answered once the homes are loaded
+            return Collections.emptySet();
+        }
+        return homes.getNames();
     }
 }
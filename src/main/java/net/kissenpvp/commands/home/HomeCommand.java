@@ -1,22 +1,23 @@
 package net.kissenpvp.commands.home;
 
 import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
+import net.kissenpvp.TeleportGuard;
 import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
 import net.kissenpvp.core.api.command.annotations.CommandData;
 import net.kissenpvp.core.api.command.annotations.TabCompleter;
-import net.kissenpvp.core.api.command.exception.OperationException;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.List;
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * The HomeCommand class containing commands to teleport to a player's home.
@@ -39,7 +40,7 @@ public class HomeCommand {
      * <p>The {@code homeCommand} method is a command handler that allows players to teleport to their
      * home locations. It takes a {@link CommandPayload} containing the sender and the home name as an
      * argument. The command checks the player's home list and teleports them if a matching home name
-     * is found.</p>
+     * is found. If the home list is not cached, the command completes once it has been loaded.</p>
      *
      * @param commandPayload the {@link CommandPayload} containing the sender and arguments
      * @param homeName       the name of the home to teleport to
@@ -48,17 +49,21 @@ public class HomeCommand {
      * @see CommandTarget
      * @see LocationNode
      * @see Player
+     * @see Warp#withHomes(Player, java.util.function.Consumer)
      */
     @CommandData(value = "home", target = CommandTarget.PLAYER)
     public void homeCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("home") String homeName) {
         Player player = (Player) commandPayload.getSender();
-        List<LocationNode> homeList = Warp.getRepository(player).getListNotNull("home_list", LocationNode.class);
+        Warp plugin = Warp.getPlugin(Warp.class);
+        plugin.getMetrics().increment(WarpMetrics.Counter.HOME_CALLS);
 
         Component name = Component.text(homeName);
         Component message = Component.translatable("server.home.teleport.success", name);
-        if (!Warp.getPlugin(Warp.class).searchLocation(player, homeName, message, homeList)) {
-            throw new OperationException(Component.translatable("server.home.homename.invalid", name));
-        }
+        plugin.withHomes(player, homes -> {
+            if (!plugin.searchLocation(player, homeName, message, homes, TeleportGuard.Type.HOME)) {
+                player.sendMessage(plugin.notFound("server.home.homename.invalid", homeName, homes));
+            }
+        });
     }
 
     /**
@@ -77,6 +82,12 @@ public class HomeCommand {
     @TabCompleter("home")
     public @NotNull @Unmodifiable Set<String> homeTabCompleter(@NotNull CommandPayload<CommandSender> commandPayload) {
         Player player = (Player) commandPayload.getSender();
-        return Warp.getRepository(player).getListNotNull("home_list", LocationNode.class).stream().map(LocationNode::name).collect(Collectors.toUnmodifiableSet());
+        Warp plugin = Warp.getPlugin(Warp.class);
+        LocationRegistry homes = plugin.getHomeCache().getIfLoaded(player);
+        if (homes == null) {
+            plugin.getHomeCache().load(player); // the next completion request is answered once the homes are loaded
+            return Collections.emptySet();
+        }
+        return homes.getNames();
     }
 }
@@ -12,7 +12,6 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,7 +35,7 @@ public class ListHome {
      * <p>The {@code listHomeCommand} method is a command handler that allows players to list their home
      * locations. It takes a {@link CommandPayload} containing the sender and an optional page number to
      * paginate the list. The command retrieves the player's home list and displays it using the {@link PageBuilder}
-     * and the {@link Warp} plugin.</p>
+     * and the {@link Warp} plugin. If the home list is not cached, the command completes once it has been loaded.</p>
      *
      * @param commandPayload the {@link CommandPayload} containing the sender and arguments
      * @param page           the optional page number for pagination
@@ -52,12 +51,15 @@ public class ListHome {
         Player player = (Player) commandPayload.getSender();
         Warp plugin = Warp.getPlugin(Warp.class);
 
-        List<LocationNode> homeList = Warp.getRepository(player).getListNotNull("home_list", LocationNode.class);
-        plugin.validate(!homeList.isEmpty(), Component.translatable("server.home.list.empty"));
+        String label = commandPayload.getLabel();
+        plugin.withHomes(player, homes -> {
+            if (homes.isEmpty()) {
+                player.sendMessage(Component.translatable("server.home.list.empty"));
+                return;
+            }
 
-        Component home = Component.text("Home");
-        PageBuilder<LocationNode> pageBuilder = new PageBuilder<>(homeList);
-
-        player.sendMessage(plugin.generateComponent(home, commandPayload.getLabel(), pageBuilder, page.orElse(1)));
+            Component home = Component.text("Home");
+            player.sendMessage(plugin.generateComponent(home, label, homes, page.orElse(1)));
+        });
     }
 }
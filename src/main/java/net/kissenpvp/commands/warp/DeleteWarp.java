@@ -2,6 +2,7 @@ package net.kissenpvp.commands.warp;
 
 import net.kissenpvp.LocationNode;
 import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
@@ -14,8 +15,8 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * The DeleteWarp class containing a command to delete a global warp.
@@ -51,8 +52,12 @@ public class DeleteWarp {
     @CommandData(value = "warpdelete", description = "Removes the specified warp from the list of available warps.", aliases = "deletewarp", target = CommandTarget.PLAYER)
     public void deleteWarpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("warp") String warpName) {
         Component warpComponent = Component.text(warpName);
-        if(Warp.getPlugin(Warp.class).getWarps().removeIf(warp -> warp.name().equals(warpName)))
+        Warp plugin = Warp.getPlugin(Warp.class);
+        if(plugin.getWarps().remove(warpName))
         {
+            plugin.getWarpUsage().forget(warpName);
+            plugin.getMetrics().increment(WarpMetrics.Counter.WARPS_DELETED);
+            plugin.refreshWarmChunks();
             commandPayload.getSender().sendMessage(Component.translatable("server.warp.delete.success", warpComponent));
             return;
         }
@@ -73,6 +78,10 @@ public class DeleteWarp {
     @TabCompleter("warpdelete")
     public @NotNull @Unmodifiable Set<String> deleteWarpTabCompleter()
     {
-        return Warp.getPlugin(Warp.class).getWarps().stream().map(LocationNode::name).collect(Collectors.toUnmodifiableSet());
+        Warp plugin = Warp.getPlugin(Warp.class);
+        if (!plugin.isWarpsLoaded()) {
+            return Collections.emptySet();
+        }
+        return plugin.getWarps().getNames();
     }
 }
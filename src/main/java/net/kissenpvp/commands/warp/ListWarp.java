@@ -1,12 +1,12 @@
 package net.kissenpvp.commands.warp;
 
 import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
 import net.kissenpvp.Warp;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
 import net.kissenpvp.core.api.command.annotations.CommandData;
-import net.kissenpvp.core.api.database.meta.list.MetaList;
 import net.kissenpvp.core.api.util.PageBuilder;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
@@ -53,12 +53,10 @@ public class ListWarp {
         Player player = (Player) commandPayload.getSender();
         Warp plugin = Warp.getPlugin(Warp.class);
 
-        MetaList<LocationNode> cache = plugin.getWarps();
-        plugin.validate(!cache.isEmpty(), Component.translatable("server.warp.list.empty"));
+        LocationRegistry warps = plugin.getWarps();
+        plugin.validate(!warps.isEmpty(), Component.translatable("server.warp.list.empty"));
 
         Component title = Component.text("Warp");
-        PageBuilder<LocationNode> pageBuilder = new PageBuilder<>(cache);
-
-        player.sendMessage(plugin.generateComponent(title, commandPayload.getLabel(), pageBuilder, page.orElse(1)));
+        player.sendMessage(plugin.generateComponent(title, commandPayload.getLabel(), warps, page.orElse(1)));
     }
 }
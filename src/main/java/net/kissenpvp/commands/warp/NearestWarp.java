@@ -0,0 +1,63 @@
+package net.kissenpvp.commands.warp;
+
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.SpatialIndex;
+import net.kissenpvp.Warp;
+import net.kissenpvp.core.api.command.CommandPayload;
+import net.kissenpvp.core.api.command.CommandTarget;
+import net.kissenpvp.core.api.command.annotations.ArgumentName;
+import net.kissenpvp.core.api.command.annotations.CommandData;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The NearestWarp class containing a command to list the global warps closest to a player.
+ *
+ * <p>The {@code NearestWarp} class defines a command named "warpnearest" (with an alias "nearestwarp") for players
+ * to list the global warps closest to their current position. The warps are looked up through the
+ * {@link SpatialIndex} of the warp registry and displayed with their distance and a clickable teleport.
+ *
+ * @see CommandData
+ * @see CommandTarget
+ * @see SpatialIndex
+ * @see LocationNode
+ * @see Warp
+ */
+public class NearestWarp {
+
+    private static final int DEFAULT_AMOUNT = 5;
+    private static final int MAX_AMOUNT = 20;
+
+    /**
+     * Command handler for listing the nearest global warps.
+     *
+     * <p>The {@code nearestWarpCommand} method is a command handler that allows players to list the global
+     * warps closest to them within their current world. It takes a {@link CommandPayload} containing the sender
+     * and an optional amount of warps to list, which is capped at {@value #MAX_AMOUNT}.</p>
+     *
+     * @param commandPayload the {@link CommandPayload} containing the sender and arguments
+     * @param amount         the optional amount of warps to list
+     * @throws ClassCastException if the sender is not a {@link Player}
+     * @see CommandData
+     * @see CommandTarget
+     * @see Warp#getNearestWarps(Location, int)
+     */
+    @CommandData(value = "warpnearest", aliases = "nearestwarp", target = CommandTarget.PLAYER)
+    public void nearestWarpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("amount") @NotNull Optional<Integer> amount) {
+        Player player = (Player) commandPayload.getSender();
+        Warp plugin = Warp.getPlugin(Warp.class);
+
+        Location location = player.getLocation();
+        int limit = Math.clamp(amount.orElse(DEFAULT_AMOUNT), 1, MAX_AMOUNT);
+        List<LocationNode> warps = plugin.getNearestWarps(location, limit);
+        plugin.validate(!warps.isEmpty(), Component.translatable("server.warp.nearest.empty"));
+
+        player.sendMessage(plugin.generateNearbyComponent("warp", warps, location));
+    }
+}
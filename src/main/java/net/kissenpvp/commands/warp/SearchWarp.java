@@ -0,0 +1,59 @@
+package net.kissenpvp.commands.warp;
+
+import net.kissenpvp.FuzzyIndex;
+import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
+import net.kissenpvp.Warp;
+import net.kissenpvp.core.api.command.CommandPayload;
+import net.kissenpvp.core.api.command.CommandTarget;
+import net.kissenpvp.core.api.command.annotations.ArgumentName;
+import net.kissenpvp.core.api.command.annotations.CommandData;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The SearchWarp class containing a command to search the global warps by name.
+ *
+ * <p>The {@code SearchWarp} class defines a command named "warpsearch" (with an alias "searchwarp") for players
+ * to find global warps whose names start with or resemble the given text. Similar names are found through the
+ * {@link FuzzyIndex} of the warp registry, so misspelled names are found without comparing the text against
+ * every warp. The results are displayed with a clickable teleport.
+ *
+ * @see CommandData
+ * @see CommandTarget
+ * @see LocationRegistry#search(String, int)
+ * @see Warp
+ */
+public class SearchWarp {
+
+    private static final int MAX_RESULTS = 10;
+
+    /**
+     * Command handler for searching global warps.
+     *
+     * <p>The {@code searchWarpCommand} method is a command handler that lists up to {@value #MAX_RESULTS} global
+     * warps matching the given text. Warps whose names start with the text are listed first, followed by the
+     * warps with the most similar names.</p>
+     *
+     * @param commandPayload the {@link CommandPayload} containing the sender and arguments
+     * @param text           the text to search for
+     * @throws ClassCastException if the sender is not a {@link Player}
+     * @see CommandData
+     * @see CommandTarget
+     * @see Warp#generateSearchComponent(String, String, List)
+     */
+    @CommandData(value = "warpsearch", aliases = "searchwarp", target = CommandTarget.PLAYER)
+    public void searchWarpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("text") String text) {
+        Player player = (Player) commandPayload.getSender();
+        Warp plugin = Warp.getPlugin(Warp.class);
+
+        List<LocationNode> warps = plugin.getWarps().search(text, MAX_RESULTS);
+        plugin.validate(!warps.isEmpty(), Component.translatable("server.warp.search.empty", Component.text(text)));
+
+        player.sendMessage(plugin.generateSearchComponent("warp", text, warps));
+    }
+}
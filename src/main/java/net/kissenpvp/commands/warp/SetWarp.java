@@ -1,12 +1,13 @@
 package net.kissenpvp.commands.warp;
 
 import net.kissenpvp.LocationNode;
+import net.kissenpvp.LocationRegistry;
 import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
 import net.kissenpvp.core.api.command.annotations.CommandData;
-import net.kissenpvp.core.api.database.meta.list.MetaList;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -51,21 +52,26 @@ public class SetWarp {
     public void setWarpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("warp") String warpName)
     {
         Player player = (Player) commandPayload.getSender();
-        MetaList<LocationNode> warps = Warp.getPlugin(Warp.class).getWarps();
+        Warp plugin = Warp.getPlugin(Warp.class);
+        LocationRegistry warps = plugin.getWarps();
 
         Component warpComponent = Component.text(warpName);
         LocationNode warp = new LocationNode(warpName, player.getLocation());
-        if (warps.stream().anyMatch(home -> home.name().equals(warpName)))
+        if (warps.contains(warpName))
         {
             commandPayload.confirmRequest(() ->
             {
-                warps.replaceOrInsert(warp);
+                warps.put(warp);
+                plugin.getMetrics().increment(WarpMetrics.Counter.WARPS_SET);
+                plugin.refreshWarmChunks();
                 player.sendMessage(Component.translatable("server.warp.name.exist", warpComponent));
             }).suppressMessage(true).send();
             return;
         }
 
-        warps.add(warp);
+        warps.put(warp);
+        plugin.getMetrics().increment(WarpMetrics.Counter.WARPS_SET);
+        plugin.refreshWarmChunks();
         player.sendMessage(Component.translatable("server.warp.create.success", warpComponent));
     }
 }
@@ -0,0 +1,83 @@
+package net.kissenpvp.commands.warp;
+
+import net.kissenpvp.LocationBackup;
+import net.kissenpvp.Warp;
+import net.kissenpvp.core.api.command.CommandPayload;
+import net.kissenpvp.core.api.command.annotations.ArgumentName;
+import net.kissenpvp.core.api.command.annotations.CommandData;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The WarpBackup class containing a command to export and restore all warps and homes.
+ *
+ * <p>The {@code WarpBackup} class defines a command named "warpbackup" for administrators to write the warps and
+ * the homes of all players into an archive in the {@value #BACKUP_FOLDER} folder of the plugin, or to restore them
+ * from such an archive. Without a file name, an export is named after the current time.
+ *
+ * <p>An export contains the homes of every player who ever joined the server, offline players included. A
+ * restore reports the warps which were added and the homes which were staged to be merged when their players
+ * join.</p>
+ *
+ * @see CommandData
+ * @see LocationBackup
+ * @see Warp
+ */
+public class WarpBackup {
+
+    private static final String BACKUP_FOLDER = "backups";
+    private static final String FILE_NAME_PATTERN = "[A-Za-z0-9_-][A-Za-z0-9._-]*";
+
+    /**
+     * Command handler for exporting or restoring the warps and homes.
+     *
+     * <p>The {@code warpBackupCommand} method runs the {@link LocationBackup} in the background and notifies the
+     * sender once it finished. The action is either {@code export} or {@code restore}, restoring requires the name
+     * of an existing archive.</p>
+     *
+     * @param commandPayload the {@link CommandPayload} containing the sender and arguments
+     * @param action         the action, {@code export} or {@code restore}
+     * @param fileName       the optional name of the archive in the backup folder
+     * @see CommandData
+     * @see LocationBackup#export(java.nio.file.Path)
+     * @see LocationBackup#restore(java.nio.file.Path)
+     */
+    @CommandData(value = "warpbackup", description = "Exports or restores all warps and homes.")
+    public void warpBackupCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("action") @NotNull String action, @ArgumentName("file") @NotNull Optional<String> fileName) {
+        CommandSender sender = commandPayload.getSender();
+        Warp plugin = Warp.getPlugin(Warp.class);
+        LocationBackup backup = plugin.getBackup();
+
+        boolean export = action.equalsIgnoreCase("export");
+        plugin.validate(export || action.equalsIgnoreCase("restore"), Component.translatable("server.warp.backup.action.invalid", Component.text(action)));
+        plugin.validate(export || fileName.isPresent(), Component.translatable("server.warp.backup.file.missing"));
+
+        String name = fileName.orElseGet(() -> new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date()) + ".bin");
+        Component nameComponent = Component.text(name);
+        plugin.validate(name.matches(FILE_NAME_PATTERN), Component.translatable("server.warp.backup.file.invalid", nameComponent));
+        plugin.getWarps(); // rejects the command while the warps are loading or failed to load
+        plugin.validate(!backup.isRunning(), Component.translatable("server.warp.backup.running"));
+
+        File folder = new File(plugin.getDataFolder(), BACKUP_FOLDER);
+        File file = new File(folder, name);
+        plugin.validate(export ? folder.isDirectory() || folder.mkdirs() : file.isFile(), Component.translatable("server.warp.backup.file.invalid", nameComponent));
+
+        String key = export ? "server.warp.backup.export" : "server.warp.backup.restore";
+        CompletableFuture<LocationBackup.Summary> task = export ? backup.export(file.toPath()) : backup.restore(file.toPath());
+        task.whenComplete((summary, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Component.translatable(key + ".failed", nameComponent));
+                return;
+            }
+            sender.sendMessage(Component.translatable(key, Component.text(summary.warps()), Component.text(summary.homes()), Component.text(summary.players()), nameComponent));
+        });
+    }
+}
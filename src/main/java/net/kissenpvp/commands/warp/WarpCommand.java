@@ -2,6 +2,7 @@ package net.kissenpvp.commands.warp;
 
 import net.kissenpvp.LocationNode;
 import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
 import net.kissenpvp.core.api.command.CommandPayload;
 import net.kissenpvp.core.api.command.CommandTarget;
 import net.kissenpvp.core.api.command.annotations.ArgumentName;
@@ -9,13 +10,13 @@ import net.kissenpvp.core.api.command.annotations.CommandData;
 import net.kissenpvp.core.api.command.annotations.TabCompleter;
 import net.kissenpvp.core.api.command.exception.OperationException;
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The WarpCommand class containing commands related to teleporting to global warps.
@@ -32,6 +33,8 @@ import java.util.stream.Collectors;
  */
 public class WarpCommand {
 
+    private static final String OTHERS_PERMISSION = "kissen.command.warp.others";
+
     /**
      * Command handler for teleporting to a global warp.
      *
@@ -40,25 +43,86 @@ public class WarpCommand {
      * The command searches for the specified warp in the global warp cache and teleports the player if found,
      * displaying success or error messages accordingly.</p>
      *
+     * <p>If targets are specified, either as {@code all} or as an entity selector, the selected players are
+     * teleported to the warp instead, spread across multiple ticks. This requires the permission
+     * {@value #OTHERS_PERMISSION}.</p>
+     *
      * @param commandPayload the {@link CommandPayload} containing the sender and arguments
      * @param warpName       the name of the global warp to teleport to
+     * @param targets        the optional selector of the players to teleport instead of the sender
      * @throws ClassCastException if the sender is not a {@link Player}
      * @see CommandData
      * @see CommandTarget
      * @see LocationNode
      * @see Player
      * @see Warp
+     * @see Warp#teleportAll(LocationNode, Collection, Component)
      */
     @CommandData(value = "warp", target = CommandTarget.PLAYER)
-    public void warpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("warp") String warpName) {
+    public void warpCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("warp") String warpName, @ArgumentName("targets") @NotNull Optional<String> targets) {
         Player player = (Player) commandPayload.getSender();
         Warp plugin = Warp.getPlugin(Warp.class);
+        plugin.getMetrics().increment(WarpMetrics.Counter.WARP_CALLS);
 
         Component name = Component.text(warpName);
         Component message = Component.translatable("server.warp.teleport.success", name);
+        if (targets.isPresent()) {
+            teleportTargets(player, plugin, warpName, targets.get(), message);
+            return;
+        }
+
         if(!plugin.searchLocation(player, warpName, message))
         {
-            throw new OperationException(Component.translatable("server.warp.warpname.invalid", name));
+            throw new OperationException(plugin.notFound("server.warp.warpname.invalid", warpName, plugin.getWarps()));
+        }
+    }
+
+    /**
+     * Teleports the players selected by the specified selector to a global warp.
+     *
+     * @param sender   the {@link Player} executing the command
+     * @param plugin   the {@link Warp} plugin instance
+     * @param warpName the name of the global warp to teleport to
+     * @param selector {@code all} or an entity selector choosing the players to teleport
+     * @param message  the message to display to every teleported player
+     * @throws OperationException if the sender lacks the permission, the warp does not exist or no players are selected
+     */
+    private void teleportTargets(@NotNull Player sender, @NotNull Warp plugin, @NotNull String warpName, @NotNull String selector, @NotNull Component message) {
+        plugin.validate(sender.hasPermission(OTHERS_PERMISSION), Component.translatable("server.warp.target.permission"));
+
+        Component name = Component.text(warpName);
+        LocationNode warp = plugin.getWarps().get(warpName);
+        plugin.validate(warp != null, plugin.notFound("server.warp.warpname.invalid", warpName, plugin.getWarps()));
+
+        Collection<? extends Player> players = selectPlayers(sender, selector);
+        plugin.validate(!players.isEmpty(), Component.translatable("server.warp.target.invalid", Component.text(selector)));
+
+        sender.sendMessage(Component.translatable("server.warp.teleport.bulk", Component.text(players.size()), name));
+        plugin.teleportAll(warp, players, message).whenComplete((count, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Component.translatable("server.warp.teleport.bulk.failed", name));
+                return;
+            }
+            sender.sendMessage(Component.translatable("server.warp.teleport.bulk.done", Component.text(count), name));
+        });
+    }
+
+    /**
+     * Resolves the players chosen by the specified selector.
+     *
+     * @param sender   the {@link CommandSender} the selector is evaluated for
+     * @param selector {@code all}, a player name or an entity selector
+     * @return the selected players, or an empty collection if the selector is invalid
+     */
+    private @NotNull Collection<? extends Player> selectPlayers(@NotNull CommandSender sender, @NotNull String selector) {
+        if (selector.equalsIgnoreCase("all")) {
+            return Bukkit.getOnlinePlayers();
+        }
+
+        try {
+            return Bukkit.selectEntities(sender, selector).stream().filter(Player.class::isInstance).map(Player.class::cast).toList();
+        } catch (IllegalArgumentException ignored) {
+            return Collections.emptyList();
         }
     }
 
@@ -77,6 +141,9 @@ public class WarpCommand {
     @TabCompleter("warp")
     public @NotNull @Unmodifiable Set<String> warpTabCompleter() {
         Warp plugin = Warp.getPlugin(Warp.class);
-        return plugin.getWarps().stream().map(LocationNode::name).collect(Collectors.toUnmodifiableSet());
+        if (!plugin.isWarpsLoaded()) {
+            return Collections.emptySet();
+        }
+        return plugin.getWarps().getNames();
     }
 }
@@ -0,0 +1,68 @@
+package net.kissenpvp.commands.warp;
+
+import net.kissenpvp.EssentialsImporter;
+import net.kissenpvp.Warp;
+import net.kissenpvp.core.api.command.CommandPayload;
+import net.kissenpvp.core.api.command.annotations.ArgumentName;
+import net.kissenpvp.core.api.command.annotations.CommandData;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * The WarpImport class containing a command to import homes and warps from EssentialsX.
+ *
+ * <p>The {@code WarpImport} class defines a command named "warpimport" for administrators to import the warps and
+ * the homes of all users from the data folder of EssentialsX. Without an argument, the folder {@value #DEFAULT_SOURCE}
+ * next to the data folder of this plugin is used. The import runs in the background and reports its progress to
+ * the sender.
+ *
+ * @see CommandData
+ * @see EssentialsImporter
+ * @see Warp
+ */
+public class WarpImport {
+
+    private static final String DEFAULT_SOURCE = "Essentials";
+
+    /**
+     * Command handler for importing homes and warps from EssentialsX.
+     *
+     * <p>The {@code warpImportCommand} method starts the {@link EssentialsImporter} on the given folder. Imported
+     * warps are available once the import finished, imported homes are added to the home list of a player the
+     * next time it is loaded.</p>
+     *
+     * @param commandPayload the {@link CommandPayload} containing the sender and arguments
+     * @param source         the optional path of the EssentialsX data folder
+     * @see CommandData
+     * @see EssentialsImporter#start(java.nio.file.Path, java.util.function.Consumer)
+     */
+    @CommandData(value = "warpimport", description = "Imports the homes and warps of EssentialsX.")
+    public void warpImportCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("folder") @NotNull Optional<String> source) {
+        CommandSender sender = commandPayload.getSender();
+        Warp plugin = Warp.getPlugin(Warp.class);
+        EssentialsImporter importer = plugin.getImporter();
+
+        File folder = source.map(File::new).orElseGet(() -> new File(plugin.getDataFolder().getParentFile(), DEFAULT_SOURCE));
+        Component folderName = Component.text(folder.getPath());
+        plugin.getWarps(); // rejects the command while the warps are loading or failed to load
+        plugin.validate(!importer.isRunning(), Component.translatable("server.warp.import.running"));
+        plugin.validate(folder.isDirectory(), Component.translatable("server.warp.import.missing", folderName));
+
+        sender.sendMessage(Component.translatable("server.warp.import.started", folderName));
+        importer.start(folder.toPath(), progress -> sender.sendMessage(render("server.warp.import.progress", progress))).whenComplete((progress, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Component.translatable("server.warp.import.failed", folderName));
+                return;
+            }
+            sender.sendMessage(render("server.warp.import.done", progress));
+        });
+    }
+
+    private static @NotNull Component render(@NotNull String key, @NotNull EssentialsImporter.Progress progress) {
+        return Component.translatable(key, Component.text(progress.files()), Component.text(progress.homes()), Component.text(progress.warps()), Component.text(progress.failed()));
+    }
+}
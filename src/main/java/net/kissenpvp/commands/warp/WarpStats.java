@@ -0,0 +1,90 @@
+package net.kissenpvp.commands.warp;
+
+import net.kissenpvp.Warp;
+import net.kissenpvp.WarpMetrics;
+import net.kissenpvp.core.api.command.CommandPayload;
+import net.kissenpvp.core.api.command.annotations.ArgumentName;
+import net.kissenpvp.core.api.command.annotations.CommandData;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * The WarpStats class containing a command to inspect the metrics of the plugin.
+ *
+ * <p>The {@code WarpStats} class defines a command named "warpstats" for administrators to display the counters,
+ * latency histograms and gauges collected by {@link WarpMetrics}. With the argument {@code dump}, the metrics are
+ * written as plain text to {@value #DUMP_FILE} in the data folder of the plugin instead.
+ *
+ * @see CommandData
+ * @see WarpMetrics
+ * @see Warp
+ */
+public class WarpStats {
+
+    private static final String DUMP_FILE = "metrics.txt";
+
+    /**
+     * Command handler for displaying or dumping the metrics of the plugin.
+     *
+     * <p>The {@code warpStatsCommand} method renders the current metrics. Without an argument they are sent to the
+     * sender. With the argument {@code dump} the rendered metrics are written to a file on the executor of the
+     * plugin, so the disk access does not block the server, and the sender is notified afterwards.</p>
+     *
+     * @param commandPayload the {@link CommandPayload} containing the sender and arguments
+     * @param action         the optional action, {@code dump} to write the metrics to a file
+     * @see CommandData
+     * @see WarpMetrics#render()
+     */
+    @CommandData(value = "warpstats", description = "Displays the metrics of the warp plugin.")
+    public void warpStatsCommand(@NotNull CommandPayload<CommandSender> commandPayload, @ArgumentName("action") @NotNull Optional<String> action) {
+        CommandSender sender = commandPayload.getSender();
+        Warp plugin = Warp.getPlugin(Warp.class);
+        String report = plugin.getMetrics().render();
+
+        if (action.isPresent() && action.get().equalsIgnoreCase("dump")) {
+            File file = new File(plugin.getDataFolder(), DUMP_FILE);
+            Component fileName = Component.text(file.getPath());
+            CompletableFuture.runAsync(() -> write(file, report), plugin.getExecutor()).whenComplete((ignored, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                if (throwable != null) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to write the metrics.", throwable);
+                    sender.sendMessage(Component.translatable("server.warp.stats.dump.failed", fileName));
+                    return;
+                }
+                sender.sendMessage(Component.translatable("server.warp.stats.dump", fileName));
+            }));
+            return;
+        }
+
+        sender.sendMessage(Component.translatable("server.warp.stats.header"));
+        sender.sendMessage(Component.text(report.stripTrailing()));
+    }
+
+    /**
+     * Writes the report to the specified file, replacing it atomically.
+     *
+     * @param file   the {@link File} to write to
+     * @param report the rendered metrics
+     * @throws UncheckedIOException if the file could not be written
+     */
+    private static void write(@NotNull File file, @NotNull String report) {
+        try {
+            File temporary = new File(file.getParentFile(), file.getName() + ".tmp");
+            Files.writeString(temporary.toPath(), report, StandardCharsets.UTF_8);
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package net.kissenpvp.storage;
+
+import net.kissenpvp.LocationNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The LocationArchive class, a memory-mapped binary snapshot of warps and homes.
+ *
+ * <p>An archive starts with the header of the {@link LocationCodec}, followed by sections and an end marker. A
+ * section holds either the warps or the homes of one player, and consists of the section type, the {@link UUID} of
+ * the player for home sections, the amount of locations and the locations encoded by a
+ * {@link LocationCodec.Encoder} of its own. Archives are written section by section through a {@link Writer}, so
+ * the locations of all players never have to be held in memory at once, and read through a memory-mapped file,
+ * so the data is decoded straight from the page cache without intermediate streams.</p>
+ *
+ * <p>The layout of an archive is:</p>
+ * <pre>
+ * header   magic number and version of the {@link LocationCodec}
+ * byte     section type ({@value #SECTION_WARPS} warps, {@value #SECTION_HOMES} homes, {@value #END} end)
+ * 2 x long most and least significant bits of the player, only for home sections
+ * varint   amount of locations, followed by the locations
+ * </pre>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * try (LocationArchive.Writer writer = LocationArchive.writer(file)) {
+ *     writer.warps(warps.sorted());
+ *     writer.homes(uuid, homes);
+ *     writer.commit();
+ * }
+ * LocationArchive.read(file, new LocationArchive.Visitor() {
+ *     public void warps(List<LocationNode> warps) { ... }
+ *     public void homes(UUID uuid, List<LocationNode> homes) { ... }
+ * });
+ * }
+ * </pre>
+ *
+ * @see LocationCodec
+ */
+public final class LocationArchive {
+
+    private static final byte END = 0;
+    private static final byte SECTION_WARPS = 1;
+    private static final byte SECTION_HOMES = 2;
+    private static final int SECTION_OVERHEAD = Byte.BYTES + 2 * Long.BYTES + 5;
+
+    private LocationArchive() {}
+
+    /**
+     * Opens a {@link Writer} creating an archive at the specified path.
+     *
+     * <p>The archive is written to a temporary file next to the target, which replaces the target atomically once
+     * the writer is committed.</p>
+     *
+     * @param file the {@link Path} of the archive
+     * @return a new {@link Writer}, which has to be closed
+     * @throws IOException if the temporary file could not be created
+     */
+    public static @NotNull Writer writer(@NotNull Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    /**
+     * Writes the specified warps and homes to an archive, replacing the file atomically.
+     *
+     * @param file  the {@link Path} of the archive
+     * @param warps the warps to write
+     * @param homes the homes to write, keyed by the {@link UUID} of their player
+     * @return the amount of locations written
+     * @throws IOException if the archive could not be written or would exceed {@value Integer#MAX_VALUE} bytes
+     * @see #writer(Path)
+     */
+    public static long write(@NotNull Path file, @NotNull Collection<LocationNode> warps, @NotNull Map<UUID, ? extends Collection<LocationNode>> homes) throws IOException {
+        try (Writer writer = writer(file)) {
+            long written = writer.warps(warps);
+            for (Map.Entry<UUID, ? extends Collection<LocationNode>> entry : homes.entrySet()) {
+                written += writer.homes(entry.getKey(), entry.getValue());
+            }
+            writer.commit();
+            return written;
+        }
+    }
+
+    /**
+     * Reads the archive at the specified path, passing every section to the visitor.
+     *
+     * <p>Sections are decoded one at a time, so only the locations of the current section are held in memory.</p>
+     *
+     * @param file    the {@link Path} of the archive
+     * @param visitor the {@link Visitor} receiving the sections
+     * @throws IOException if the archive could not be read or is malformed
+     */
+    public static void read(@NotNull Path file, @NotNull Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The archive exceeds " + Integer.MAX_VALUE + " bytes.");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            LocationCodec.readHeader(buffer);
+            while (true) {
+                byte type = buffer.get();
+                switch (type) {
+                    case END -> {
+                        return;
+                    }
+                    case SECTION_WARPS -> visitor.warps(readLocations(buffer));
+                    case SECTION_HOMES -> {
+                        UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                        visitor.homes(uuid, readLocations(buffer));
+                    }
+                    default -> throw new IOException("Unknown archive section " + type + ".");
+                }
+            }
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("The archive is truncated.", exception);
+        }
+    }
+
+    private static long maxSize(@NotNull Collection<LocationNode> nodes) {
+        LocationCodec.Encoder encoder = new LocationCodec.Encoder(false);
+        long size = SECTION_OVERHEAD;
+        for (LocationNode node : nodes) {
+            size += encoder.maxSize(node);
+        }
+        return size;
+    }
+
+
+    private static @NotNull List<LocationNode> readLocations(@NotNull MappedByteBuffer buffer) throws IOException {
+        LocationCodec.Decoder decoder = new LocationCodec.Decoder();
+        int count = LocationCodec.readCount(buffer);
+        List<LocationNode> nodes = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for (int i = 0; i < count; i++) {
+            nodes.add(decoder.decode(buffer));
+        }
+        return nodes;
+    }
+
+    /**
+     * The Writer class, appending sections to a new archive.
+     *
+     * <p>Every section is encoded into a heap buffer sized for it and written through a {@link FileChannel}, so
+     * the file always has exactly the written size and no mapping of it outlives the writer. The archive only
+     * replaces its target once {@link #commit()} succeeded. Closing a writer which was not committed deletes the
+     * temporary file and leaves the target untouched.</p>
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temporary;
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private boolean committed;
+
+        private Writer(@NotNull Path file) throws IOException {
+            this.file = file;
+            this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(LocationCodec.HEADER_SIZE);
+            LocationCodec.writeHeader(buffer);
+            flush();
+        }
+
+        /**
+         * Appends a section holding the specified warps.
+         *
+         * @param warps the warps to write
+         * @return the amount of warps written
+         * @throws IOException if the section could not be written
+         */
+        public int warps(@NotNull Collection<LocationNode> warps) throws IOException {
+            prepare(maxSize(warps)).put(SECTION_WARPS);
+            return writeLocations(warps);
+        }
+
+        /**
+         * Appends a section holding the homes of the specified player, unless the player has no homes.
+         *
+         * @param uuid  the {@link UUID} of the player
+         * @param homes the homes to write
+         * @return the amount of homes written
+         * @throws IOException if the section could not be written
+         */
+        public int homes(@NotNull UUID uuid, @NotNull Collection<LocationNode> homes) throws IOException {
+            if (homes.isEmpty()) {
+                return 0;
+            }
+
+            prepare(maxSize(homes)).put(SECTION_HOMES);
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+            return writeLocations(homes);
+        }
+
+        /**
+         * Finishes the archive and atomically replaces the target file with it.
+         *
+         * @throws IOException if the archive could not be finished or moved
+         */
+        public void commit() throws IOException {
+            prepare(Byte.BYTES).put(END);
+            flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+
+        private @NotNull ByteBuffer prepare(long size) throws IOException {
+            if (channel.position() + size > Integer.MAX_VALUE) {
+                throw new IOException("The archive would exceed " + Integer.MAX_VALUE + " bytes.");
+            }
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate((int) size);
+            }
+            return buffer.clear();
+        }
+
+        private int writeLocations(@NotNull Collection<LocationNode> nodes) throws IOException {
+            LocationCodec.Encoder encoder = new LocationCodec.Encoder(false);
+            LocationCodec.writeVarInt(buffer, nodes.size());
+            for (LocationNode node : nodes) {
+                encoder.encode(node, buffer);
+            }
+            flush();
+            return nodes.size();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * The Visitor interface, receiving the sections of an archive while it is read.
+     */
+    public interface Visitor {
+
+        /**
+         * Receives the warps of the archive.
+         *
+         * @param warps the decoded warps
+         * @throws IOException if the warps could not be processed
+         */
+        void warps(@NotNull List<LocationNode> warps) throws IOException;
+
+        /**
+         * Receives the homes of one player of the archive.
+         *
+         * @param uuid  the {@link UUID} of the player
+         * @param homes the decoded homes
+         * @throws IOException if the homes could not be processed
+         */
+        void homes(@NotNull UUID uuid, @NotNull List<LocationNode> homes) throws IOException;
+    }
+}
@@ -0,0 +1,334 @@
+package net.kissenpvp.storage;
+
+import net.kissenpvp.LocationNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The LocationCodec class, a compact and versioned binary form of {@link LocationNode}.
+ *
+ * <p>A stream starts with the {@link #MAGIC} number and the format {@link #VERSION}, followed by the encoded
+ * locations. World names are interned per stream: the first location of a world carries its name, every
+ * following location only refers to it by a small id. Coordinates are stored either as doubles or, if requested,
+ * as fixed-point integers with a precision of 1/{@value #FIXED_POINT_SCALE} block. The rotation is only stored
+ * when it differs from zero.</p>
+ *
+ * <p>The layout of a single location is:</p>
+ * <pre>
+ * varint   name length, followed by the UTF-8 bytes of the name
+ * varint   0 followed by the length and UTF-8 bytes of a new world name, or the world id + 1
+ * byte     flags ({@value #FLAG_FIXED_POINT} fixed-point, {@value #FLAG_ROTATION} rotation present)
+ * 3 x int  fixed-point x, y, z | 3 x double  x, y, z
+ * 2 x float yaw, pitch, only if the rotation flag is set
+ * </pre>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * byte[] data = LocationCodec.encode(homes, true);
+ * List<LocationNode> restored = LocationCodec.decode(data);
+ * }
+ * </pre>
+ *
+ * @see LocationNode
+ */
+public final class LocationCodec {
+
+    public static final int MAGIC = 0x57524C4E;
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+    private static final int FLAG_FIXED_POINT = 1;
+    private static final int FLAG_ROTATION = 2;
+    private static final int FIXED_POINT_SCALE = 32;
+    private static final double FIXED_POINT_LIMIT = (double) Integer.MAX_VALUE / FIXED_POINT_SCALE;
+
+    private LocationCodec() {}
+
+    /**
+     * Encodes the specified locations into a standalone byte array.
+     *
+     * <p>The array contains the header, the amount of locations and the locations themselves.</p>
+     *
+     * @param nodes      the locations to encode
+     * @param fixedPoint whether coordinates should be stored as fixed-point integers
+     * @return the encoded locations
+     * @throws NullPointerException if the collection is {@code null}
+     */
+    public static byte @NotNull [] encode(@NotNull Collection<LocationNode> nodes, boolean fixedPoint) {
+        Encoder encoder = new Encoder(fixedPoint);
+        int size = HEADER_SIZE + 5;
+        for (LocationNode node : nodes) {
+            size += encoder.maxSize(node);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        writeHeader(buffer);
+        writeVarInt(buffer, nodes.size());
+        for (LocationNode node : nodes) {
+            encoder.encode(node, buffer);
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Decodes the locations of a byte array created by {@link #encode(Collection, boolean)}.
+     *
+     * @param data the encoded locations
+     * @return an unmodifiable {@link List} of the decoded locations
+     * @throws IOException if the data is not a supported location stream or is truncated
+     */
+    public static @NotNull @Unmodifiable List<LocationNode> decode(byte @NotNull [] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        readHeader(buffer);
+
+        Decoder decoder = new Decoder();
+        int count;
+        try {
+            count = readCount(buffer);
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("The location stream is truncated.", exception);
+        }
+
+        List<LocationNode> nodes = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for (int i = 0; i < count; i++) {
+            nodes.add(decoder.decode(buffer));
+        }
+        return List.copyOf(nodes);
+    }
+
+    /**
+     * Writes the stream header to the specified buffer.
+     *
+     * @param buffer the {@link ByteBuffer} to write to
+     */
+    public static void writeHeader(@NotNull ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+    }
+
+    /**
+     * Reads and validates the stream header from the specified buffer.
+     *
+     * @param buffer the {@link ByteBuffer} to read from
+     * @return the version of the stream
+     * @throws IOException if the magic number does not match or the version is not supported
+     */
+    public static int readHeader(@NotNull ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("The data is not a location stream.");
+            }
+
+            byte version = buffer.get();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported location stream version " + version + ".");
+            }
+            return version;
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("The location stream header is truncated.", exception);
+        }
+    }
+
+    public static void writeVarInt(@NotNull ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int readVarInt(@NotNull ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = buffer.get();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("The variable length integer is too long.");
+    }
+
+    /**
+     * Reads the amount of locations which follow in the specified buffer.
+     *
+     * @param buffer the {@link ByteBuffer} to read from
+     * @return the amount of locations
+     * @throws IOException if the amount is malformed or negative
+     */
+    public static int readCount(@NotNull ByteBuffer buffer) throws IOException {
+        int count = readVarInt(buffer);
+        if (count < 0) {
+            throw new IOException("The location count " + count + " is negative.");
+        }
+        return count;
+    }
+
+    private static void writeString(@NotNull ByteBuffer buffer, @NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer buffer) throws IOException {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("The string length " + length + " exceeds the remaining data.");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The Encoder class, writing locations of one stream and interning their world names.
+     */
+    public static final class Encoder {
+
+        private final Map<String, Integer> worlds;
+        private final boolean fixedPoint;
+
+        /**
+         * Constructs an Encoder for a new stream.
+         *
+         * @param fixedPoint whether coordinates should be stored as fixed-point integers where possible
+         */
+        public Encoder(boolean fixedPoint) {
+            this.worlds = new HashMap<>();
+            this.fixedPoint = fixedPoint;
+        }
+
+        /**
+         * Calculates an upper bound of the encoded size of the specified location.
+         *
+         * @param node the location to encode
+         * @return the maximum amount of bytes {@link #encode(LocationNode, ByteBuffer)} writes for the location
+         */
+        public int maxSize(@NotNull LocationNode node) {
+            int size = 5 + node.name().length() * 3 + 1 + 3 * Double.BYTES + 2 * Float.BYTES;
+            if (!worlds.containsKey(node.worldName())) {
+                size += 5 + node.worldName().length() * 3 + 5;
+            } else {
+                size += 5;
+            }
+            return size;
+        }
+
+        /**
+         * Encodes the specified location into the buffer.
+         *
+         * @param node   the location to encode
+         * @param buffer the {@link ByteBuffer} to write to
+         * @throws java.nio.BufferOverflowException if the buffer has less than {@link #maxSize(LocationNode)} bytes remaining
+         */
+        public void encode(@NotNull LocationNode node, @NotNull ByteBuffer buffer) {
+            writeString(buffer, node.name());
+
+            Integer world = worlds.get(node.worldName());
+            if (world == null) {
+                worlds.put(node.worldName(), worlds.size());
+                writeVarInt(buffer, 0);
+                writeString(buffer, node.worldName());
+            } else {
+                writeVarInt(buffer, world + 1);
+            }
+
+            boolean fixed = fixedPoint && fits(node.x()) && fits(node.y()) && fits(node.z());
+            boolean rotation = node.yaw() != 0 || node.pitch() != 0;
+            buffer.put((byte) ((fixed ? FLAG_FIXED_POINT : 0) | (rotation ? FLAG_ROTATION : 0)));
+
+            if (fixed) {
+                buffer.putInt((int) Math.round(node.x() * FIXED_POINT_SCALE));
+                buffer.putInt((int) Math.round(node.y() * FIXED_POINT_SCALE));
+                buffer.putInt((int) Math.round(node.z() * FIXED_POINT_SCALE));
+            } else {
+                buffer.putDouble(node.x());
+                buffer.putDouble(node.y());
+                buffer.putDouble(node.z());
+            }
+
+            if (rotation) {
+                buffer.putFloat(node.yaw());
+                buffer.putFloat(node.pitch());
+            }
+        }
+
+        private static boolean fits(double coordinate) {
+            return Math.abs(coordinate) < FIXED_POINT_LIMIT;
+        }
+    }
+
+    /**
+     * The Decoder class, reading locations of one stream and resolving their interned world names.
+     */
+    public static final class Decoder {
+
+        private final List<String> worlds;
+
+        /**
+         * Constructs a Decoder for a new stream.
+         */
+        public Decoder() {
+            this.worlds = new ArrayList<>();
+        }
+
+        /**
+         * Decodes the next location from the buffer.
+         *
+         * @param buffer the {@link ByteBuffer} to read from
+         * @return the decoded {@link LocationNode}
+         * @throws IOException if the data is malformed or truncated
+         */
+        public @NotNull LocationNode decode(@NotNull ByteBuffer buffer) throws IOException {
+            try {
+                String name = readString(buffer);
+
+                int reference = readVarInt(buffer);
+                String world;
+                if (reference == 0) {
+                    world = readString(buffer);
+                    worlds.add(world);
+                } else if (reference <= worlds.size()) {
+                    world = worlds.get(reference - 1);
+                } else {
+                    throw new IOException("Unknown world reference " + reference + ".");
+                }
+
+                int flags = buffer.get();
+                double x, y, z;
+                if ((flags & FLAG_FIXED_POINT) != 0) {
+                    x = (double) buffer.getInt() / FIXED_POINT_SCALE;
+                    y = (double) buffer.getInt() / FIXED_POINT_SCALE;
+                    z = (double) buffer.getInt() / FIXED_POINT_SCALE;
+                } else {
+                    x = buffer.getDouble();
+                    y = buffer.getDouble();
+                    z = buffer.getDouble();
+                }
+
+                float yaw = 0, pitch = 0;
+                if ((flags & FLAG_ROTATION) != 0) {
+                    yaw = buffer.getFloat();
+                    pitch = buffer.getFloat();
+                }
+                return new LocationNode(name, world, x, y, z, yaw, pitch);
+            } catch (BufferUnderflowException exception) {
+                throw new IOException("The location stream is truncated.", exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.kissenpvp.storage;
+
+import net.kissenpvp.LocationNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The StagedHomes class, holding imported homes of players until their home list is loaded.
+ *
+ * <p>The home list of a player is stored in the user repository, which is only reachable while the player is
+ * online. Homes imported for other players are therefore staged on disk, one file per player encoded with the
+ * {@link LocationCodec}, and merged into the home list the next time it is loaded. Files are spread over
+ * subdirectories named after the first two characters of the {@link UUID}, so a staging area of hundreds of
+ * thousands of players does not end up in a single directory. Nothing is kept in memory.</p>
+ *
+ * <p>Files are replaced atomically, so a crash during an import never leaves a partially written file behind.
+ * Staging the homes of the same player twice merges both sets, with later homes replacing earlier ones of the
+ * same name. Different players may be staged concurrently, the same player must not.</p>
+ *
+ * <p>Example usage:</p>
+ *
+ * <pre>
+ * {@code
+ * StagedHomes staged = new StagedHomes(new File(plugin.getDataFolder(), "imports"));
+ * staged.stage(uuid, homes);
+ * List<LocationNode> imported = staged.read(uuid);
+ * registry.putAll(imported);
+ * registry.flush();
+ * staged.discard(uuid);
+ * }
+ * </pre>
+ *
+ * @see LocationCodec
+ * @see net.kissenpvp.HomeCache
+ */
+public class StagedHomes {
+
+    private static final String EXTENSION = ".bin";
+
+    private final Path directory;
+
+    /**
+     * Constructs a StagedHomes store in the specified directory.
+     *
+     * @param directory the directory containing the staged files, created on first use
+     */
+    public StagedHomes(@NotNull File directory) {
+        this.directory = directory.toPath();
+    }
+
+    /**
+     * Stages the specified homes of a player, merging them with homes staged earlier.
+     *
+     * @param uuid  the {@link UUID} of the player
+     * @param homes the homes to stage
+     * @throws IOException if the staged file could not be read or written
+     */
+    public void stage(@NotNull UUID uuid, @NotNull Collection<LocationNode> homes) throws IOException {
+        if (homes.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocationNode> merged = new LinkedHashMap<>();
+        read(uuid).forEach(home -> merged.put(home.name(), home));
+        homes.forEach(home -> merged.put(home.name(), home));
+
+        Path file = resolve(uuid);
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, LocationCodec.encode(merged.values(), false));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the homes staged for the specified player.
+     *
+     * @param uuid the {@link UUID} of the player
+     * @return an unmodifiable {@link List} of the staged homes, empty if nothing is staged
+     * @throws IOException if the staged file could not be read or is malformed
+     */
+    public @NotNull @Unmodifiable List<LocationNode> read(@NotNull UUID uuid) throws IOException {
+        try {
+            return LocationCodec.decode(Files.readAllBytes(resolve(uuid)));
+        } catch (NoSuchFileException exception) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Checks whether homes are staged for the specified player.
+     *
+     * @param uuid the {@link UUID} of the player
+     * @return true if homes are staged, false otherwise
+     */
+    public boolean contains(@NotNull UUID uuid) {
+        return Files.exists(resolve(uuid));
+    }
+
+    /**
+     * Removes the homes staged for the specified player.
+     *
+     * <p>This method is meant to be called once the staged homes have been written to the home list.</p>
+     *
+     * @param uuid the {@link UUID} of the player
+     * @throws IOException if the staged file could not be deleted
+     */
+    public void discard(@NotNull UUID uuid) throws IOException {
+        Files.deleteIfExists(resolve(uuid));
+    }
+
+    private @NotNull Path resolve(@NotNull UUID uuid) {
+        String name = uuid.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name + EXTENSION);
+    }
+}
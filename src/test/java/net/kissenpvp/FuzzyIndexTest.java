@@ -0,0 +1,111 @@
+package net.kissenpvp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyIndexTest {
+
+    private static final String ALPHABET = "abcdeSHOP_1";
+
+    @Test
+    void searchMatchesBruteForce() {
+        Random random = new Random(7);
+        List<String> names = names(random, 2000);
+        FuzzyIndex index = new FuzzyIndex();
+        names.forEach(index::add);
+
+        for (int query = 0; query < 300; query++) {
+            String text = name(random);
+            int maxDistance = random.nextInt(4);
+            int limit = 1 + random.nextInt(20);
+            assertEquals(bruteForce(names, text, maxDistance, limit), index.search(text, maxDistance, limit), text);
+        }
+    }
+
+    @Test
+    void searchMatchesBruteForceAfterRemovals() {
+        Random random = new Random(8);
+        List<String> names = new ArrayList<>(names(random, 1000));
+        FuzzyIndex index = new FuzzyIndex();
+        names.forEach(index::add);
+
+        for (int round = 0; round < 900; round++) {
+            assertTrue(index.remove(names.remove(random.nextInt(names.size()))));
+            if (round % 90 == 0) {
+                for (int query = 0; query < 30; query++) {
+                    String text = name(random);
+                    assertEquals(bruteForce(names, text, 2, 10), index.search(text, 2, 10), text);
+                }
+            }
+        }
+        assertEquals(names.size(), index.size());
+    }
+
+    @Test
+    void addsAndRemovesNamesOnce() {
+        FuzzyIndex index = new FuzzyIndex();
+        assertTrue(index.add("Spawn"));
+        assertFalse(index.add("Spawn"));
+        assertTrue(index.add("spawn"));
+        assertEquals(List.of("Spawn", "spawn"), index.search("SPAWN", 0, 5));
+
+        assertTrue(index.remove("Spawn"));
+        assertFalse(index.remove("Spawn"));
+        assertEquals(List.of("spawn"), index.search("spwan", 2, 5));
+        assertTrue(index.add("Spawn"));
+        assertEquals(2, index.size());
+    }
+
+    private static List<String> names(Random random, int size) {
+        List<String> names = new ArrayList<>(size);
+        while (names.size() < size) {
+            String name = name(random);
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private static String name(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static List<String> bruteForce(List<String> names, String query, int maxDistance, int limit) {
+        String key = query.toLowerCase(Locale.ROOT);
+        return names.stream()
+                .filter(name -> levenshtein(name.toLowerCase(Locale.ROOT), key) <= maxDistance)
+                .sorted(Comparator.<String>comparingInt(name -> levenshtein(name.toLowerCase(Locale.ROOT), key)).thenComparing(Comparator.naturalOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static int levenshtein(String first, String second) {
+        int[][] distances = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                    continue;
+                }
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                distances[i][j] = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1), distances[i - 1][j - 1] + cost);
+            }
+        }
+        return distances[first.length()][second.length()];
+    }
+}
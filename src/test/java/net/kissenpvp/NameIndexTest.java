@@ -0,0 +1,71 @@
+package net.kissenpvp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameIndexTest {
+
+    private static final String ALPHABET = "aAbBsS_1";
+
+    @Test
+    void prefixQueriesMatchBruteForce() {
+        Random random = new Random(11);
+        TreeSet<String> expected = new TreeSet<>();
+        NameIndex index = NameIndex.empty();
+        for (int round = 0; round < 2000; round++) {
+            String name = name(random);
+            if (random.nextInt(3) == 0) {
+                expected.remove(name);
+                index = index.without(name);
+            } else {
+                expected.add(name);
+                index = index.with(name);
+            }
+
+            if (round % 50 == 0) {
+                assertQueries(expected, index, random);
+                assertQueries(expected, NameIndex.of(new ArrayList<>(expected)), random);
+            }
+        }
+    }
+
+    @Test
+    void ordersNamesIgnoringCase() {
+        NameIndex index = NameIndex.of(List.of("spawn", "Shop", "SPAWN", "arena", "Spawn"));
+        assertEquals(List.of("SPAWN", "Shop", "Spawn", "arena", "spawn"), index.startingWith(""));
+        assertEquals(List.of("Shop", "SPAWN", "Spawn", "spawn"), index.startingWithIgnoreCase("s"));
+        assertEquals(List.of("SPAWN", "Spawn", "spawn"), index.startingWithIgnoreCase("sPa"));
+        assertEquals(List.of(), index.startingWithIgnoreCase("spawns"));
+    }
+
+    private static void assertQueries(TreeSet<String> expected, NameIndex index, Random random) {
+        assertEquals(List.copyOf(expected), List.copyOf(index));
+        for (int query = 0; query < 20; query++) {
+            String prefix = name(random).substring(0, 1 + random.nextInt(2));
+            String key = prefix.toLowerCase(Locale.ROOT);
+
+            assertEquals(expected.stream().filter(name -> name.startsWith(prefix)).toList(), index.startingWith(prefix), prefix);
+            assertEquals(expected.stream()
+                    .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(key))
+                    .sorted(Comparator.comparing((String name) -> name.toLowerCase(Locale.ROOT)).thenComparing(Comparator.naturalOrder()))
+                    .toList(), index.startingWithIgnoreCase(prefix), prefix);
+        }
+    }
+
+    private static String name(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 2 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
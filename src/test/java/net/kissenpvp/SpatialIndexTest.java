@@ -0,0 +1,100 @@
+package net.kissenpvp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpatialIndexTest {
+
+    private static final String[] WORLDS = {"spatial_world", "spatial_nether"};
+
+    @Test
+    void nearestMatchesBruteForce() {
+        for (int size : new int[]{0, 1, 7, 200, 3000}) {
+            Random random = new Random(size);
+            List<LocationNode> nodes = nodes(random, size);
+            SpatialIndex index = index(nodes);
+
+            for (int query = 0; query < 200; query++) {
+                String world = WORLDS[random.nextInt(WORLDS.length)];
+                double x = random.nextGaussian() * 2000, y = random.nextInt(256), z = random.nextGaussian() * 2000;
+                int limit = 1 + random.nextInt(12);
+
+                List<LocationNode> expected = bruteForce(nodes, world, x, y, z).stream().limit(limit).toList();
+                assertEquals(distances(expected, x, y, z), distances(index.nearest(world, x, y, z, limit), x, y, z));
+            }
+        }
+    }
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        for (int size : new int[]{0, 1, 7, 200, 3000}) {
+            Random random = new Random(size);
+            List<LocationNode> nodes = nodes(random, size);
+            SpatialIndex index = index(nodes);
+
+            for (int query = 0; query < 200; query++) {
+                String world = WORLDS[random.nextInt(WORLDS.length)];
+                double x = random.nextGaussian() * 2000, y = random.nextInt(256), z = random.nextGaussian() * 2000;
+                double radius = random.nextDouble() * (query % 2 == 0 ? 100 : 5000);
+
+                List<LocationNode> expected = bruteForce(nodes, world, x, y, z).stream().filter(node -> SpatialIndex.distanceSquared(node, x, y, z) <= radius * radius).toList();
+                List<LocationNode> actual = index.withinRadius(world, x, y, z, radius);
+                assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+                assertEquals(distances(expected, x, y, z), distances(actual, x, y, z));
+            }
+        }
+    }
+
+    @Test
+    void forgetsRemovedLocations() {
+        Random random = new Random(1);
+        List<LocationNode> nodes = new ArrayList<>(nodes(random, 500));
+        SpatialIndex index = index(nodes);
+        for (int i = 0; i < 250; i++) {
+            index.remove(nodes.remove(random.nextInt(nodes.size())));
+        }
+
+        for (String world : WORLDS) {
+            assertEquals(distances(bruteForce(nodes, world, 0, 64, 0), 0, 64, 0), distances(index.nearest(world, 0, 64, 0, nodes.size()), 0, 64, 0));
+        }
+    }
+
+    @Test
+    void answersUnknownWorldsAndInvalidArguments() {
+        SpatialIndex index = index(nodes(new Random(2), 10));
+        assertEquals(List.of(), index.nearest("spatial_unknown", 0, 0, 0, 5));
+        assertEquals(List.of(), index.withinRadius("spatial_unknown", 0, 0, 0, 5));
+        assertEquals(List.of(), index.nearest(WORLDS[0], 0, 0, 0, 0));
+        assertEquals(List.of(), index.withinRadius(WORLDS[0], 0, 0, 0, -1));
+    }
+
+    private static List<LocationNode> nodes(Random random, int size) {
+        List<LocationNode> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double spread = i % 10 == 0 ? 20_000 : 500;
+            nodes.add(new LocationNode("node_" + i, WORLDS[random.nextInt(WORLDS.length)], random.nextGaussian() * spread, random.nextInt(256), random.nextGaussian() * spread));
+        }
+        return nodes;
+    }
+
+    private static SpatialIndex index(List<LocationNode> nodes) {
+        SpatialIndex index = new SpatialIndex();
+        nodes.forEach(index::add);
+        return index;
+    }
+
+    private static List<LocationNode> bruteForce(List<LocationNode> nodes, String world, double x, double y, double z) {
+        return nodes.stream().filter(node -> node.worldName().equals(world)).sorted(Comparator.comparingDouble(node -> SpatialIndex.distanceSquared(node, x, y, z))).toList();
+    }
+
+    private static List<Double> distances(List<LocationNode> nodes, double x, double y, double z) {
+        return nodes.stream().map(node -> SpatialIndex.distanceSquared(node, x, y, z)).toList();
+    }
+}
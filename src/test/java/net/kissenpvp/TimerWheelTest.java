@@ -0,0 +1,100 @@
+package net.kissenpvp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    @Test
+    void runsTasksOnTheirDeadline() {
+        TimerWheel wheel = new TimerWheel(8);
+        Random random = new Random(3);
+        List<Long> expected = new ArrayList<>();
+        List<Long> actual = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long delay = 1 + random.nextInt(100);
+            expected.add(delay);
+            wheel.schedule(delay, () -> actual.add(wheel.getTick()));
+        }
+
+        for (int tick = 0; tick < 100; tick++) {
+            wheel.run();
+        }
+        assertEquals(expected.stream().sorted().toList(), actual);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void waitsAtLeastOneTick() {
+        TimerWheel wheel = new TimerWheel(4);
+        List<Long> ticks = new ArrayList<>();
+        wheel.schedule(0, () -> ticks.add(wheel.getTick()));
+        wheel.schedule(-5, () -> ticks.add(wheel.getTick()));
+
+        wheel.run();
+        assertEquals(List.of(1L, 1L), ticks);
+    }
+
+    @Test
+    void skipsCancelledTasks() {
+        TimerWheel wheel = new TimerWheel(16);
+        List<String> ran = new ArrayList<>();
+        TimerWheel.Timeout cancelled = wheel.schedule(5, () -> ran.add("cancelled"));
+        TimerWheel.Timeout kept = wheel.schedule(5, () -> ran.add("kept"));
+
+        assertEquals(5, cancelled.getRemaining());
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, cancelled.getRemaining());
+        assertEquals(1, wheel.size());
+
+        for (int tick = 0; tick < 5; tick++) {
+            wheel.run();
+        }
+        assertEquals(List.of("kept"), ran);
+        assertFalse(kept.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cannotCancelATaskThatRan() {
+        TimerWheel wheel = new TimerWheel(2);
+        TimerWheel.Timeout timeout = wheel.schedule(1, () -> {});
+        wheel.run();
+
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void runsAllDueTasksBeforeRethrowingTheFirstFailure() {
+        TimerWheel wheel = new TimerWheel(4);
+        List<String> ran = new ArrayList<>();
+        IllegalStateException first = new IllegalStateException("first");
+        IllegalStateException second = new IllegalStateException("second");
+        wheel.schedule(1, () -> { throw first; });
+        wheel.schedule(1, () -> ran.add("ran"));
+        wheel.schedule(1, () -> { throw second; });
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, wheel::run);
+        assertEquals(List.of("ran"), ran);
+        assertEquals(1, thrown.getSuppressed().length);
+        assertSame(thrown == first ? second : first, thrown.getSuppressed()[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsNonPositiveSlots() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(0));
+    }
+}
@@ -0,0 +1,19 @@
+package net.kissenpvp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WorldRegistryTest {
+
+    @Test
+    void internsNewWorldNames() {
+        String name = new String("registry_test_world");
+        String interned = WorldRegistry.intern(name);
+
+        assertEquals(name, interned);
+        assertSame(interned, WorldRegistry.intern(new String("registry_test_world")));
+        assertSame(interned, WorldRegistry.nameOf(WorldRegistry.idOf(name)));
+    }
+}
@@ -0,0 +1,144 @@
+package net.kissenpvp.storage;
+
+import net.kissenpvp.LocationNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocationArchiveTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void roundTripsWarpsAndHomes() throws IOException {
+        List<LocationNode> warps = List.of(
+                new LocationNode("spawn", "world", 0.5, 64, 0.5, 90f, 0f),
+                new LocationNode("m\u00e4rkte", "world_nether", -1e7, 12.345678, 3));
+        Map<UUID, List<LocationNode>> homes = new LinkedHashMap<>();
+        homes.put(new UUID(1, 2), List.of(new LocationNode("home", "world", 1, 2, 3), new LocationNode("\u30d9\u30c3\u30c9", "world", 4, 5, 6, 0f, 30f)));
+        homes.put(new UUID(-1, Long.MIN_VALUE), List.of(new LocationNode("farm", "world_the_end", 7, 8, 9)));
+
+        Path file = folder.resolve("backup.bin");
+        assertEquals(5, LocationArchive.write(file, warps, homes));
+        assertFalse(Files.exists(folder.resolve("backup.bin.tmp")));
+
+        Recorder recorder = read(file);
+        LocationCodecTest.assertIdentical(warps, recorder.warps);
+        assertEquals(homes.keySet(), recorder.homes.keySet());
+        for (Map.Entry<UUID, List<LocationNode>> entry : homes.entrySet()) {
+            LocationCodecTest.assertIdentical(entry.getValue(), recorder.homes.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void skipsPlayersWithoutHomes() throws IOException {
+        Path file = folder.resolve("empty.bin");
+        assertEquals(0, LocationArchive.write(file, List.of(), Map.of(UUID.randomUUID(), List.of())));
+
+        Recorder recorder = read(file);
+        assertEquals(List.of(), recorder.warps);
+        assertEquals(Map.of(), recorder.homes);
+    }
+
+    @Test
+    void leavesTheTargetUntouchedWithoutCommit() throws IOException {
+        Path file = folder.resolve("kept.bin");
+        LocationArchive.write(file, List.of(new LocationNode("kept", "world", 0, 0, 0)), Map.of());
+
+        try (LocationArchive.Writer writer = LocationArchive.writer(file)) {
+            writer.warps(List.of(new LocationNode("discarded", "world", 0, 0, 0)));
+        }
+
+        assertFalse(Files.exists(folder.resolve("kept.bin.tmp")));
+        assertEquals("kept", read(file).warps.getFirst().name());
+    }
+
+    @Test
+    void writesExactlyTheEncodedSize() throws IOException {
+        Path file = folder.resolve("exact.bin");
+        LocationArchive.write(file, List.of(), Map.of());
+
+        int empty = LocationCodec.HEADER_SIZE + Byte.BYTES + 1 + Byte.BYTES;
+        assertEquals(empty, Files.size(file));
+    }
+
+    @Test
+    void replacesAnExistingArchive() throws IOException {
+        Path file = folder.resolve("replace.bin");
+        LocationArchive.write(file, List.of(new LocationNode("old", "world", 0, 0, 0)), Map.of());
+        LocationArchive.write(file, List.of(new LocationNode("new", "world", 0, 0, 0)), Map.of());
+
+        assertEquals("new", read(file).warps.getFirst().name());
+    }
+
+    @Test
+    void rejectsTruncatedArchives() throws IOException {
+        Path file = folder.resolve("complete.bin");
+        LocationArchive.write(file, List.of(new LocationNode("spawn", "world", 1, 2, 3)), Map.of(new UUID(3, 4), List.of(new LocationNode("home", "world", 4, 5, 6))));
+        byte[] data = Files.readAllBytes(file);
+
+        Path truncated = folder.resolve("truncated.bin");
+        for (int length = 0; length < data.length; length++) {
+            Files.write(truncated, Arrays.copyOf(data, length));
+            assertThrows(IOException.class, () -> read(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        Path file = folder.resolve("magic.bin");
+        LocationArchive.write(file, List.of(new LocationNode("spawn", "world", 1, 2, 3)), Map.of());
+        byte[] data = Files.readAllBytes(file);
+        data[0] ^= 0x01;
+        Files.write(file, data);
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    @Test
+    void rejectsUnknownSections() throws IOException {
+        Path file = folder.resolve("section.bin");
+        LocationArchive.write(file, List.of(), Map.of());
+        byte[] data = Files.readAllBytes(file);
+        data[LocationCodec.HEADER_SIZE] = 9;
+        Files.write(file, data);
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    private static Recorder read(Path file) throws IOException {
+        Recorder recorder = new Recorder();
+        LocationArchive.read(file, recorder);
+        return recorder;
+    }
+
+    private static final class Recorder implements LocationArchive.Visitor {
+
+        private final List<LocationNode> warps = new ArrayList<>();
+        private final Map<UUID, List<LocationNode>> homes = new LinkedHashMap<>();
+
+        @Override
+        public void warps(List<LocationNode> warps) {
+            this.warps.addAll(warps);
+        }
+
+        @Override
+        public void homes(UUID uuid, List<LocationNode> homes) {
+            this.homes.put(uuid, homes);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package net.kissenpvp.storage;
+
+import net.kissenpvp.LocationNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationCodecTest {
+
+    private static final List<LocationNode> NODES = List.of(
+            new LocationNode("spawn", "world", 0.5, 64, -0.5),
+            new LocationNode("shop", "world", 1234.25, 70.03125, -9876.75, 90.5f, -12.25f),
+            new LocationNode("nether_hub", "world_nether", -15.125, 32, 8.5, 0f, 45f),
+            new LocationNode("gr\u00f6\u00dfe_stra\u00dfe", "welt_\u00df", 3.75, 100, 3.75, 180f, 0f),
+            new LocationNode("\u5bb6", "\u4e16\u754c", -1, 0, 1));
+
+    @Test
+    void roundTripsDoubleCoordinates() throws IOException {
+        List<LocationNode> nodes = List.of(
+                new LocationNode("precise", "world", 0.123456789, 64.987654321, -1e-9),
+                new LocationNode("far", "world", 1e12, -1e12, Double.MAX_VALUE));
+
+        assertIdentical(nodes, LocationCodec.decode(LocationCodec.encode(nodes, false)));
+        assertIdentical(NODES, LocationCodec.decode(LocationCodec.encode(NODES, false)));
+    }
+
+    @Test
+    void roundTripsFixedPointCoordinates() throws IOException {
+        assertIdentical(NODES, LocationCodec.decode(LocationCodec.encode(NODES, true)));
+    }
+
+    @Test
+    void roundsFixedPointCoordinatesToTheScale() throws IOException {
+        LocationNode node = new LocationNode("rounded", "world", 0.123456789, 64.99, -7.01);
+        LocationNode decoded = LocationCodec.decode(LocationCodec.encode(List.of(node), true)).getFirst();
+
+        assertEquals(node.x(), decoded.x(), 1d / 64);
+        assertEquals(node.y(), decoded.y(), 1d / 64);
+        assertEquals(node.z(), decoded.z(), 1d / 64);
+    }
+
+    @Test
+    void fallsBackToDoublesOutsideTheFixedPointRange() throws IOException {
+        List<LocationNode> nodes = List.of(new LocationNode("border", "world", 3.0e7 * 3, 64.3, -3.0e8));
+        assertIdentical(nodes, LocationCodec.decode(LocationCodec.encode(nodes, true)));
+    }
+
+    @Test
+    void storesRotationOnlyWhenPresent() throws IOException {
+        LocationNode plain = new LocationNode("plain", "world", 1, 2, 3);
+        LocationNode rotated = new LocationNode("plain", "world", 1, 2, 3, 0f, -90f);
+
+        byte[] withoutRotation = LocationCodec.encode(List.of(plain), true);
+        byte[] withRotation = LocationCodec.encode(List.of(rotated), true);
+
+        assertEquals(withoutRotation.length + 2 * Float.BYTES, withRotation.length);
+        assertIdentical(List.of(rotated), LocationCodec.decode(withRotation));
+    }
+
+    @Test
+    void internsRepeatedWorldNames() {
+        List<LocationNode> first = List.of(new LocationNode("a", "a_long_world_name", 0, 0, 0));
+        List<LocationNode> both = List.of(first.getFirst(), new LocationNode("b", "a_long_world_name", 0, 0, 0));
+
+        int single = LocationCodec.encode(first, true).length;
+        int repeated = LocationCodec.encode(both, true).length - single;
+        assertTrue(repeated < single - "a_long_world_name".length());
+    }
+
+    @Test
+    void decodesAnEmptyStream() throws IOException {
+        assertEquals(List.of(), LocationCodec.decode(LocationCodec.encode(List.of(), false)));
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] data = LocationCodec.encode(NODES, true);
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(IOException.class, () -> LocationCodec.decode(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsBadMagic() {
+        byte[] data = LocationCodec.encode(NODES, false);
+        data[0] ^= 0x01;
+        assertThrows(IOException.class, () -> LocationCodec.decode(data));
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+        byte[] data = LocationCodec.encode(NODES, false);
+        data[Integer.BYTES] = LocationCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> LocationCodec.decode(data));
+    }
+
+    @Test
+    void rejectsNegativeCount() {
+        byte[] header = LocationCodec.encode(List.of(), false);
+        byte[] data = Arrays.copyOf(header, LocationCodec.HEADER_SIZE + 5);
+        data[LocationCodec.HEADER_SIZE] = (byte) 0xFF;
+        data[LocationCodec.HEADER_SIZE + 1] = (byte) 0xFF;
+        data[LocationCodec.HEADER_SIZE + 2] = (byte) 0xFF;
+        data[LocationCodec.HEADER_SIZE + 3] = (byte) 0xFF;
+        data[LocationCodec.HEADER_SIZE + 4] = 0x0F;
+        assertThrows(IOException.class, () -> LocationCodec.decode(data));
+    }
+
+    @Test
+    void rejectsUnknownWorldReference() {
+        byte[] data = LocationCodec.encode(List.of(new LocationNode("a", "w", 0, 0, 0)), false);
+        int reference = LocationCodec.HEADER_SIZE + 1 + 1 + 1;
+        data[reference] = 5;
+        assertThrows(IOException.class, () -> LocationCodec.decode(data));
+    }
+
+    static void assertIdentical(List<LocationNode> expected, List<LocationNode> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            LocationNode first = expected.get(i), second = actual.get(i);
+            assertEquals(first.name(), second.name());
+            assertEquals(first.worldName(), second.worldName());
+            assertArrayEquals(new double[]{first.x(), first.y(), first.z()}, new double[]{second.x(), second.y(), second.z()});
+            assertEquals(first.yaw(), second.yaw());
+            assertEquals(first.pitch(), second.pitch());
+        }
+    }
+}